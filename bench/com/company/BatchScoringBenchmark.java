@@ -0,0 +1,74 @@
+package com.company;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Every category of all 7776 ordered rolls: one block through BatchScorer against the calculate methods hand by hand
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchScoringBenchmark {
+
+    private final BatchScorer scorer = new BatchScorer();
+    private final int[] scores = new int[Yahtzee.NUMBER_OF_CATEGORIES * BatchScorer.MAX_HANDS];
+    private Yahtzee game;
+
+    @Setup
+    public void setUp() {
+
+        game = new Yahtzee(151L);
+
+        if (!BatchScorer.verify(game))
+            throw new IllegalStateException("Batch scores do not match the calculate methods");
+
+        scorer.fillAllRolls();
+    }
+
+    @Benchmark
+    public int[] scoreAllBatch() {
+        scorer.setSize(BatchScorer.MAX_HANDS);
+        scorer.scoreAll(game.getRules(), scores);
+        return scores;
+    }
+
+    @Benchmark
+    public int scoreAllScalar() {
+
+        int total = 0;
+
+        for (int hand = 0; hand < BatchScorer.MAX_HANDS; hand++) {
+            for (int d = 0; d < Yahtzee.NUMBER_OF_DICE; d++)
+                game.setDice(d, scorer.getDice(hand, d));
+
+            int[] dieCount = game.calculateLowerSectionCategory();
+
+            for (int i = 1; i <= Yahtzee.MAX_NUMBER_ON_DIE; i++)
+                total += game.calculateUpperSectionCategory(i);
+
+            total += game.calculateNOfKind(dieCount, 3) + game.calculateNOfKind(dieCount, 4) +
+                    game.calculateFullHouse(dieCount) + game.calculateYahtzee() + game.calculateChance();
+
+            if (game.calculateNStraight(dieCount, 4))
+                total += game.getSmallStraightScore();
+
+            if (game.calculateNStraight(dieCount, 5))
+                total += game.getLargeStraightScore();
+        }
+
+        return total;
+    }
+
+}
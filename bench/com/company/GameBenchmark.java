@@ -0,0 +1,41 @@
+package com.company;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    private final DecisionPolicy policy = new GreedyPolicy();
+    private Yahtzee game;
+    private long gameNumber = 0;
+
+    @Setup
+    public void setUp() {
+        game = new Yahtzee(151L);
+    }
+
+    @Benchmark
+    public int playGame() {
+        game.reset();
+        game.setSeed(SplitMixDiceSource.streamSeed(151L, gameNumber++));
+        BatchSimulator.playGame(game, policy);
+        return game.calculateGrandTotal();
+    }
+
+}
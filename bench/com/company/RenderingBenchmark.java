@@ -0,0 +1,48 @@
+package com.company;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderingBenchmark {
+
+    private final PrintStream nullStream = new PrintStream(OutputStream.nullOutputStream());
+    private Yahtzee game;
+
+    @Setup
+    public void setUp() {
+
+        game = new Yahtzee(151L);
+
+        game.setScore(Yahtzee.ACES_INDEX, 3);
+        game.setScore(Yahtzee.THREES_INDEX, 9);
+        game.setScore(Yahtzee.FIVES_INDEX, 15);
+        game.setScore(Yahtzee.THREE_KIND_INDEX, 22);
+        game.setScore(Yahtzee.FULL_HOUSE_INDEX, game.getFullHouseScore());
+        game.setScore(Yahtzee.LARGE_STRAIGHT_INDEX, game.getLargeStraightScore());
+        game.setScore(Yahtzee.CHANCE_INDEX, 21);
+    }
+
+    @Benchmark
+    public void displayScoreSheet() {
+        game.displayScoreSheet(nullStream);
+    }
+
+}
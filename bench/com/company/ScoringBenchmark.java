@@ -0,0 +1,91 @@
+package com.company;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    // Constants
+    final static int NUMBER_OF_HANDS = 1024;
+    final static long SEED = 151L;
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14"})
+    public int scoreOption;
+
+    private final int[][] hands = new int[NUMBER_OF_HANDS][Yahtzee.NUMBER_OF_DICE];
+    private Yahtzee game;
+    private int nextHand = 0;
+
+    @Setup
+    public void setUp() {
+
+        SplitMixDiceSource diceSource = new SplitMixDiceSource(SEED);
+
+        for (int[] hand : hands)
+            diceSource.rollDice(hand, 0);
+
+        game = new Yahtzee(SEED);
+
+        if (!game.verifyScoreTable())
+            throw new IllegalStateException("Score table does not match the calculate methods");
+
+        // A scorecard half way through a game, so totals and used checks see a mix of values
+        game.setScore(Yahtzee.ACES_INDEX, 3);
+        game.setScore(Yahtzee.THREES_INDEX, 9);
+        game.setScore(Yahtzee.FIVES_INDEX, 15);
+        game.setScore(Yahtzee.THREE_KIND_INDEX, 22);
+        game.setScore(Yahtzee.FULL_HOUSE_INDEX, game.getFullHouseScore());
+        game.setScore(Yahtzee.LARGE_STRAIGHT_INDEX, game.getLargeStraightScore());
+        game.setScore(Yahtzee.CHANCE_INDEX, 21);
+    }
+
+    private void nextHand() {
+
+        int[] hand = hands[nextHand++ & (NUMBER_OF_HANDS - 1)];
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_DICE; i++)
+            game.setDice(i, hand[i]);
+    }
+
+    @Benchmark
+    public int calculateTurnScore() {
+        nextHand();
+        game.calculateTurnScore(scoreOption);
+        return game.getScore(scoreOption - 1);
+    }
+
+    @Benchmark
+    public int[] calculateLowerSectionCategory() {
+        nextHand();
+        return game.calculateLowerSectionCategory();
+    }
+
+    @Benchmark
+    public int calculateSectionScores() {
+        return game.calculateUpperScore() + game.calculateLowerScore();
+    }
+
+    @Benchmark
+    public boolean isCategoryUsed() {
+        nextHand();
+        return game.isCategoryUsed(scoreOption);
+    }
+
+}
@@ -0,0 +1,350 @@
+package com.company;
+
+import java.util.Arrays;
+
+// Scores a block of hands at a time, such as every outcome of a reroll, held as one array per die.
+//
+// Each category is a straight loop over the block with no branches: face matches, thresholds and rule choices are
+// turned into 0/1 masks with integer arithmetic, so the JIT can vectorize the loops on any JVM without the
+// incubating Vector API. Per-block work (face counts, sums) is shared by every category scored from it.
+final class BatchScorer {
+
+    // Constants
+    final static int MAX_HANDS = DiceHands.NUMBER_OF_ROLLS;
+    final static int NUMBER_OF_FACES = Yahtzee.MAX_NUMBER_ON_DIE;
+
+    private final static int[] POWERS_OF_SIX = {1, 6, 36, 216, 1296, 7776};
+
+    // Properties
+    private final int capacity;
+    private int size;
+
+    // dice[d][i] is die #d + 1 (1-6) of hand i
+    private final int[][] dice;
+
+    // Filled by prepare: counts[f - 1][i] is how many dice of hand i show f
+    private final int[][] counts;
+    private final int[] sums;
+    private final int[] maxCounts;
+    private final int[] distinctCounts;
+    private final int[] runs;
+    private final int[] straightRuns;
+    private boolean prepared;
+
+    // Constructor
+    BatchScorer() {
+        this(MAX_HANDS);
+    }
+
+    BatchScorer(int capacity) {
+        this.capacity = capacity;
+        this.dice = new int[Yahtzee.NUMBER_OF_DICE][capacity];
+        this.counts = new int[NUMBER_OF_FACES][capacity];
+        this.sums = new int[capacity];
+        this.maxCounts = new int[capacity];
+        this.distinctCounts = new int[capacity];
+        this.runs = new int[capacity];
+        this.straightRuns = new int[capacity];
+    }
+
+    // Setters and getters
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+
+        if (size < 0 || size > capacity)
+            throw new IllegalArgumentException("Batch size must be 0 to " + capacity);
+
+        this.size = size;
+        prepared = false;
+    }
+
+    public int getDice(int hand, int index) {
+        return dice[index][hand];
+    }
+
+    public void setHand(int hand, int[] handDice) {
+
+        for (int d = 0; d < Yahtzee.NUMBER_OF_DICE; d++)
+            dice[d][hand] = handDice[d];
+
+        prepared = false;
+    }
+
+    // Methods
+    // Every ordered roll of the five dice, hand i being roll code i (base 6, die #1 lowest digit)
+    public void fillAllRolls() {
+        fillRerolls(null, 0);
+    }
+
+    // Every outcome of rerolling the dice not in holdMask (bit 0 = die #1), in the order of the outcome codes of
+    // PackedGameState.setRolledDice: the first die rerolled is the lowest base-6 digit
+    public void fillRerolls(int[] handDice, int holdMask) {
+
+        int rerolled = Yahtzee.NUMBER_OF_DICE - Integer.bitCount(holdMask & Yahtzee.ALL_DICE_HELD);
+        int outcomes = POWERS_OF_SIX[rerolled];
+        int digit = 1;
+
+        setSize(outcomes);
+
+        for (int d = 0; d < Yahtzee.NUMBER_OF_DICE; d++) {
+            int[] die = dice[d];
+
+            if ((holdMask & (1 << d)) != 0)
+                Arrays.fill(die, 0, outcomes, handDice[d]);
+            else {
+                for (int i = 0; i < outcomes; i++)
+                    die[i] = (i / digit) % NUMBER_OF_FACES + 1;
+
+                digit *= NUMBER_OF_FACES;
+            }
+        }
+    }
+
+    // Scores every hand of the block in category (0-13) into scores[0, size)
+    public void score(int category, YahtzeeRules rules, int[] scores) {
+        score(category, rules, scores, 0);
+    }
+
+    // Scores every hand in every category; hand i of category c goes to scores[c * size + i]
+    public void scoreAll(YahtzeeRules rules, int[] scores) {
+
+        for (int category = 0; category < Yahtzee.NUMBER_OF_CATEGORIES; category++)
+            score(category, rules, scores, category * size);
+    }
+
+    private void score(int category, YahtzeeRules rules, int[] scores, int offset) {
+
+        prepare();
+
+        switch (category) {
+            case Yahtzee.THREE_KIND_INDEX:
+                scoreNOfKind(3, rules, scores, offset);
+                break;
+            case Yahtzee.FOUR_KIND_INDEX:
+                scoreNOfKind(4, rules, scores, offset);
+                break;
+            case Yahtzee.FULL_HOUSE_INDEX:
+                scoreFullHouse(rules, scores, offset);
+                break;
+            case Yahtzee.SMALL_STRAIGHT_INDEX:
+                scoreStraight(4, rules.getSmallStraightScore(), rules, scores, offset);
+                break;
+            case Yahtzee.LARGE_STRAIGHT_INDEX:
+                scoreStraight(5, rules.getLargeStraightScore(), rules, scores, offset);
+                break;
+            case Yahtzee.YAHTZEE_INDEX:
+            case Yahtzee.YAHTZEE_BONUS_INDEX:
+                scoreYahtzee(rules.getYahtzeeScore(), scores, offset);
+                break;
+            case Yahtzee.CHANCE_INDEX:
+                System.arraycopy(sums, 0, scores, offset, size);
+                break;
+            default:
+                scoreUpper(category + 1, scores, offset);
+        }
+    }
+
+    // 1 when a equals b, else 0 (both small and non-negative)
+    private static int equal(int a, int b) {
+        return ((a ^ b) - 1) >>> 31;
+    }
+
+    // 1 when count is at least n, else 0
+    private static int atLeast(int count, int n) {
+        return (n - 1 - count) >>> 31;
+    }
+
+    // 1 when count is more than zero, else 0
+    private static int present(int count) {
+        return -count >>> 31;
+    }
+
+    private void prepare() {
+
+        if (prepared)
+            return;
+
+        Arrays.fill(sums, 0, size, 0);
+        Arrays.fill(maxCounts, 0, size, 0);
+        Arrays.fill(distinctCounts, 0, size, 0);
+
+        for (int d = 0; d < Yahtzee.NUMBER_OF_DICE; d++) {
+            int[] die = dice[d];
+
+            for (int i = 0; i < size; i++)
+                sums[i] += die[i];
+        }
+
+        for (int face = 1; face <= NUMBER_OF_FACES; face++) {
+            int[] count = counts[face - 1];
+
+            Arrays.fill(count, 0, size, 0);
+
+            for (int d = 0; d < Yahtzee.NUMBER_OF_DICE; d++) {
+                int[] die = dice[d];
+
+                for (int i = 0; i < size; i++)
+                    count[i] += equal(die[i], face);
+            }
+
+            for (int i = 0; i < size; i++) {
+                maxCounts[i] = Math.max(maxCounts[i], count[i]);
+                distinctCounts[i] += present(count[i]);
+            }
+        }
+
+        prepared = true;
+    }
+
+    private void scoreUpper(int face, int[] scores, int offset) {
+
+        int[] count = counts[face - 1];
+
+        for (int i = 0; i < size; i++)
+            scores[offset + i] = count[i] * face;
+    }
+
+    private void scoreNOfKind(int n, YahtzeeRules rules, int[] scores, int offset) {
+
+        if (rules.getKindScoring() == YahtzeeRules.KIND_SCORING_ALL_DICE) {
+            for (int i = 0; i < size; i++)
+                scores[offset + i] = sums[i] & -atLeast(maxCounts[i], n);
+
+            return;
+        }
+
+        // Only one number can show n or more times
+        Arrays.fill(scores, offset, offset + size, 0);
+
+        for (int face = 1; face <= NUMBER_OF_FACES; face++) {
+            int[] count = counts[face - 1];
+
+            for (int i = 0; i < size; i++)
+                scores[offset + i] += (n * face) & -atLeast(count[i], n);
+        }
+    }
+
+    private void scoreFullHouse(YahtzeeRules rules, int[] scores, int offset) {
+
+        // Either the sum of the dice or the fixed score, chosen once for the block
+        boolean sumOfDice = rules.getKindScoring() == YahtzeeRules.KIND_SCORING_MATCHING_DICE;
+        int sumMask = sumOfDice ? -1 : 0;
+        int fixedScore = sumOfDice ? 0 : rules.getFullHouseScore();
+
+        for (int i = 0; i < size; i++) {
+            int fullHouse = equal(distinctCounts[i], 2) & equal(maxCounts[i], Yahtzee.FULL_HOUSE_NUMBER_IN_GROUP_2);
+
+            scores[offset + i] = ((sums[i] & sumMask) | fixedScore) & -fullHouse;
+        }
+    }
+
+    // A straight of length dice under the rules' straight rule; fixed straights are 1-5 (small) and 2-6 (large)
+    private void scoreStraight(int length, int straightScore, YahtzeeRules rules, int[] scores, int offset) {
+
+        int straightRule = rules.getStraightRule();
+
+        if (straightRule == YahtzeeRules.STRAIGHT_FIXED) {
+            int first = length - 3;
+
+            Arrays.fill(straightRuns, 0, size, 1);
+
+            for (int face = first; face < first + Yahtzee.NUMBER_OF_DICE; face++) {
+                int[] count = counts[face - 1];
+
+                for (int i = 0; i < size; i++)
+                    straightRuns[i] &= present(count[i]);
+            }
+
+            for (int i = 0; i < size; i++)
+                scores[offset + i] = straightScore & -straightRuns[i];
+
+            return;
+        }
+
+        Arrays.fill(runs, 0, size, 0);
+        Arrays.fill(straightRuns, 0, size, 0);
+
+        // runs[i] is the run of consecutive numbers ending at face; straightRuns keeps the longest run, or the run
+        // at the highest die
+        for (int face = 1; face <= NUMBER_OF_FACES; face++) {
+            int[] count = counts[face - 1];
+
+            if (straightRule == YahtzeeRules.STRAIGHT_ANY_RUN)
+                for (int i = 0; i < size; i++) {
+                    runs[i] = (runs[i] + 1) * present(count[i]);
+                    straightRuns[i] = Math.max(straightRuns[i], runs[i]);
+                }
+            else
+                for (int i = 0; i < size; i++) {
+                    int p = present(count[i]);
+
+                    runs[i] = (runs[i] + 1) * p;
+                    straightRuns[i] += (runs[i] - straightRuns[i]) & -p;
+                }
+        }
+
+        for (int i = 0; i < size; i++)
+            scores[offset + i] = straightScore & -atLeast(straightRuns[i], length);
+    }
+
+    private void scoreYahtzee(int yahtzeeScore, int[] scores, int offset) {
+
+        for (int i = 0; i < size; i++)
+            scores[offset + i] = yahtzeeScore & -equal(maxCounts[i], Yahtzee.NUMBER_OF_DICE);
+    }
+
+    // Exhaustive check over all ordered rolls of every category against the calculate methods of game, under the
+    // game's rules. The game's dice are put back afterwards.
+    public static boolean verify(Yahtzee game) {
+
+        BatchScorer scorer = new BatchScorer();
+        int[] scores = new int[Yahtzee.NUMBER_OF_CATEGORIES * MAX_HANDS];
+        int[] savedDice = new int[Yahtzee.NUMBER_OF_DICE];
+        boolean matches = true;
+
+        for (int d = 0; d < Yahtzee.NUMBER_OF_DICE; d++)
+            savedDice[d] = game.getDice(d);
+
+        scorer.fillAllRolls();
+        scorer.scoreAll(game.getRules(), scores);
+
+        for (int hand = 0; hand < scorer.getSize() && matches; hand++) {
+            for (int d = 0; d < Yahtzee.NUMBER_OF_DICE; d++)
+                game.setDice(d, scorer.getDice(hand, d));
+
+            int[] dieCount = game.calculateLowerSectionCategory();
+            int[] expected = new int[Yahtzee.NUMBER_OF_CATEGORIES];
+
+            for (int i = 0; i <= Yahtzee.UPPER_CATEGORY_UPPER_BOUND_INDEX; i++)
+                expected[i] = game.calculateUpperSectionCategory(i + 1);
+
+            expected[Yahtzee.THREE_KIND_INDEX] = game.calculateNOfKind(dieCount, 3);
+            expected[Yahtzee.FOUR_KIND_INDEX] = game.calculateNOfKind(dieCount, 4);
+            expected[Yahtzee.FULL_HOUSE_INDEX] = game.calculateFullHouse(dieCount);
+            expected[Yahtzee.SMALL_STRAIGHT_INDEX] =
+                    game.calculateNStraight(dieCount, 4) ? game.getSmallStraightScore() : 0;
+            expected[Yahtzee.LARGE_STRAIGHT_INDEX] =
+                    game.calculateNStraight(dieCount, 5) ? game.getLargeStraightScore() : 0;
+            expected[Yahtzee.YAHTZEE_INDEX] = game.calculateYahtzee();
+            expected[Yahtzee.CHANCE_INDEX] = game.calculateChance();
+            expected[Yahtzee.YAHTZEE_BONUS_INDEX] = game.calculateYahtzee();
+
+            for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES; i++)
+                if (scores[i * scorer.getSize() + hand] != expected[i])
+                    matches = false;
+        }
+
+        for (int d = 0; d < Yahtzee.NUMBER_OF_DICE; d++)
+            game.setDice(d, savedDice[d]);
+
+        return matches;
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.company;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+final class BatchSimulator {
+
+    // Constants
+    final static int MAX_TURNS_PER_GAME = 1000;
+    final static String STRATEGY_FILE_NAME = "strategy.bin";
+    final static int LOG_BATCH_RECORDS = 256;
+    final static int REPLAY_FLUSH_BYTES = 1 << 20;
+    final static int PROGRESS_INTERVAL_SECONDS = 5;
+
+    // Properties
+    private final Supplier<DecisionPolicy> policyFactory;
+    private final int threads;
+    private final GameLog log;
+    private final FileChannel replayArchive;
+    private YahtzeeRules rules = YahtzeeRules.DEFAULT;
+    private Leaderboard leaderboard;
+    private GameStatistics statistics;
+
+    // Constructor
+    BatchSimulator(Supplier<DecisionPolicy> policyFactory, int threads) {
+        this(policyFactory, threads, null, null);
+    }
+
+    // Every completed game is appended to log and recorded move by move to replayArchive when they are not null
+    BatchSimulator(Supplier<DecisionPolicy> policyFactory, int threads, GameLog log, FileChannel replayArchive) {
+        this.policyFactory = policyFactory;
+        this.threads = Math.max(1, threads);
+        this.log = log;
+        this.replayArchive = replayArchive;
+    }
+
+    // Setters and getters
+    public int getThreads() {
+        return threads;
+    }
+
+    public YahtzeeRules getRules() {
+        return rules;
+    }
+
+    // Every game is played under rules
+    public void setRules(YahtzeeRules rules) {
+        this.rules = rules;
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    // Every completed game is ranked on leaderboard when it is not null
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    public GameStatistics getStatistics() {
+        return statistics;
+    }
+
+    // Every completed game is counted in statistics when it is not null; snapshots can be taken mid-run
+    public void setStatistics(GameStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    // Methods
+    // Plays numberOfGames complete games split evenly across the worker threads. When a worker fails, its exception
+    // is rethrown once every worker has stopped, with those of later failed workers suppressed in it.
+    public SimulationResult run(long numberOfGames, long seed) throws InterruptedException {
+
+        Thread[] workers = new Thread[threads];
+        SimulationResult[] results = new SimulationResult[threads];
+        Throwable[] failures = new Throwable[threads];
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < threads; i++) {
+            long firstGame = numberOfGames * i / threads;
+            long lastGame = numberOfGames * (i + 1) / threads;
+            SimulationResult result = new SimulationResult();
+
+            results[i] = result;
+            int worker = i;
+
+            workers[i] = new Thread(() -> playGames(firstGame, lastGame, seed, result), "simulator-" + i);
+            workers[i].setUncaughtExceptionHandler((thread, ex) -> failures[worker] = ex);
+            workers[i].start();
+        }
+
+        SimulationResult total = new SimulationResult();
+        Throwable failure = null;
+
+        // The handler runs on the worker before it ends, so join makes its failure visible here
+        for (int i = 0; i < threads; i++) {
+            workers[i].join();
+
+            if (failures[i] == null)
+                total.merge(results[i]);
+            else if (failure == null)
+                failure = failures[i];
+            else
+                failure.addSuppressed(failures[i]);
+        }
+
+        if (failure instanceof RuntimeException)
+            throw (RuntimeException) failure;
+
+        if (failure instanceof Error)
+            throw (Error) failure;
+
+        if (failure != null)
+            throw new IllegalStateException("Simulator worker failed", failure);
+
+        total.setElapsedNanos(System.nanoTime() - startTime);
+
+        return total;
+    }
+
+    // Game i always plays from its own stream of the master seed, so results do not depend on the thread count
+    private void playGames(long firstGame, long lastGame, long seed, SimulationResult result) {
+
+        Yahtzee game = new Yahtzee(seed);
+        DecisionPolicy policy = policyFactory.get();
+        ByteBuffer logBatch = ByteBuffer.allocate(LOG_BATCH_RECORDS * GameLog.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+        GameRecorder recorder = (replayArchive != null) ? new GameRecorder() : null;
+        GameStatistics.Stripe stripe = (statistics != null) ? statistics.newStripe() : null;
+
+        game.setRules(rules);
+        game.setRecorder(recorder);
+
+        for (long i = firstGame; i < lastGame; i++) {
+            game.reset();
+            game.setSeed(SplitMixDiceSource.streamSeed(seed, i));
+            playGame(game, policy);
+            result.record(game);
+
+            if (stripe != null)
+                stripe.record(game);
+
+            if (leaderboard != null)
+                leaderboard.record(game);
+
+            if (log != null) {
+                GameLog.encode(game, logBatch, crc);
+
+                if (!logBatch.hasRemaining())
+                    appendToLog(logBatch);
+            }
+
+            if (recorder != null && recorder.size() >= REPLAY_FLUSH_BYTES)
+                writeReplays(recorder);
+        }
+
+        if (log != null)
+            appendToLog(logBatch);
+
+        if (recorder != null)
+            writeReplays(recorder);
+    }
+
+    // Games from different threads interleave in the archive; each entry is a whole game
+    private void writeReplays(GameRecorder recorder) {
+
+        try {
+            synchronized (replayArchive) {
+                recorder.writeTo(replayArchive);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void appendToLog(ByteBuffer logBatch) {
+
+        try {
+            log.append(logBatch.flip());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        logBatch.clear();
+    }
+
+    // Plays one game to completion with the same turn rules as the console game
+    public static void playGame(Yahtzee game, DecisionPolicy policy) {
+
+        while (!game.isGameComplete()) {
+            if (game.getTurnCount() >= MAX_TURNS_PER_GAME)
+                throw new IllegalStateException("Game did not finish within " + MAX_TURNS_PER_GAME + " turns");
+
+            game.roll();
+
+            while (!game.isTurnOver()) {
+                int holdMask = policy.chooseHoldMask(game);
+
+                if (game.hold(holdMask) == Yahtzee.EVENT_REJECTED)
+                    throw new IllegalStateException("Policy chose an invalid hold mask: " + holdMask);
+            }
+
+            int scoreOption = policy.chooseCategory(game);
+
+            if (game.score(scoreOption) == Yahtzee.EVENT_REJECTED)
+                throw new IllegalStateException("Policy chose an invalid category: " + scoreOption);
+        }
+    }
+
+    // Factory for the policy named greedy or optimal; the optimal policy's strategy table is solved once and cached
+    public static Supplier<DecisionPolicy> policyFactory(String policyName) throws IOException {
+
+        if (policyName.equalsIgnoreCase("optimal")) {
+            Yahtzee rules = new Yahtzee();
+            RerollAdvisor advisor = new RerollAdvisor(StrategyTable.openOrSolve(Path.of(STRATEGY_FILE_NAME), rules), rules);
+
+            return () -> new OptimalPolicy(advisor);
+        }
+
+        if (policyName.equalsIgnoreCase("greedy"))
+            return GreedyPolicy::new;
+
+        throw new IllegalArgumentException("Unknown policy: " + policyName);
+    }
+
+    // Usage: BatchSimulator [games] [greedy|optimal] [threads] [seed] [log directory|-] [replay file|-] [leaderboard file]
+    public static void main(String[] args) throws Exception {
+
+        long numberOfGames = (args.length > 0) ? Long.parseLong(args[0]) : 1_000_000L;
+        String policyName = (args.length > 1) ? args[1] : "greedy";
+        int threads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = (args.length > 3) ? Long.parseLong(args[3]) : System.nanoTime();
+        GameLog log = (args.length > 4 && !args[4].equals("-")) ? new GameLog(Path.of(args[4])) : null;
+        FileChannel replayArchive = (args.length > 5 && !args[5].equals("-")) ? FileChannel.open(Path.of(args[5]),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING) : null;
+
+        YahtzeeRules rules = YahtzeeRules.fromSystemProperty();
+
+        if (!rules.hasDefaultStructure() && policyName.equalsIgnoreCase("optimal"))
+            throw new IllegalArgumentException("The optimal policy plays the standard rules only");
+
+        Supplier<DecisionPolicy> policyFactory = policyFactory(policyName);
+        BatchSimulator simulator = new BatchSimulator(policyFactory, threads, log, replayArchive);
+        Leaderboard leaderboard = (args.length > 6) ? new Leaderboard(Path.of(args[6])) : null;
+
+        GameStatistics statistics = new GameStatistics();
+
+        simulator.setRules(rules);
+        simulator.setLeaderboard(leaderboard);
+        simulator.setStatistics(statistics);
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulator-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        reporter.scheduleAtFixedRate(() -> System.out.println(statistics.snapshot().getSummary()),
+                PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        System.out.println("Policy = " + policyName + ", threads = " + simulator.getThreads() + ", seed = " + seed +
+                ", rules = " + System.getProperty(YahtzeeRules.RULES_PROPERTY, "standard"));
+
+        SimulationResult result = simulator.run(numberOfGames, seed);
+
+        reporter.shutdownNow();
+        System.out.println(result);
+        System.out.println(statistics.snapshot());
+
+        if (GameMetrics.ENABLED)
+            System.out.println(GameMetrics.snapshot());
+
+        if (log != null) {
+            log.close();
+            System.out.println("Games logged = " + log.getAppendedRecords() + " (segment " + log.getSegmentIndex() + ")");
+        }
+
+        if (replayArchive != null) {
+            System.out.println("Replay archive bytes = " + replayArchive.size());
+            replayArchive.close();
+        }
+
+        if (leaderboard != null) {
+            leaderboard.close();
+            System.out.println("Leaderboard games = " + leaderboard.getGames() + ", best = " +
+                    ((leaderboard.getEntryCount() > 0) ? leaderboard.getEntryScore(0) : 0));
+        }
+    }
+
+}
@@ -3,114 +3,119 @@ package com.company;
 import java.io.File;
 import java.io.PrintStream;
 import java.util.Arrays;
-import java.util.Random;
-import java.util.Scanner;
+import java.util.function.Consumer;
 
 abstract class Game {
 
     // Constants
     public final static int SCORE_NO_VALUE = -1;
-    public final long seed = (new java.util.Date()).getTime();
-    public final Random generator = new Random(seed);
 
     // Properties
-    private String borderChar = "*";
-    private String turnLabel = "Turn #";
-    private int displayWidth = 70;
-    private final int[] scores;
-    private int turnCount = 0;
-    private String invalidInputMessage = "*** Invalid input ***";
-    private boolean turnOver = false;
-    private boolean gameExit = false;
-    private boolean gameComplete = false;
+    private GameText text = GameText.DEFAULT;
+    private long seed;
+    private DiceSource diceSource;
 
 
     // Setters and getters
+    public GameText getText() {
+        return text;
+    }
+
+    public void setText(GameText text) {
+        this.text = text;
+    }
+
     public String getBorderChar() {
-        return borderChar;
+        return text.getBorderChar();
     }
 
     public void setBorderChar(String borderChar) {
-        this.borderChar = borderChar;
+        text = text.withBorderChar(borderChar);
     }
 
     public String getTurnLabel() {
-        return turnLabel;
+        return text.getTurnLabel();
     }
 
     public void setTurnLabel(String turnLabel) {
-        this.turnLabel = turnLabel;
+        text = text.withTurnLabel(turnLabel);
     }
 
     public int getDisplayWidth() {
-        return displayWidth;
+        return text.getDisplayWidth();
     }
 
     public void setDisplayWidth(int displayWidth) {
-        this.displayWidth = displayWidth;
+        text = text.withDisplayWidth(displayWidth);
     }
 
-    public int getScore(int index) {
-        return scores[index];
-    }
+    public abstract int getScore(int index);
 
-    public void setScore(int index, int value) {
-        scores[index] = value;
-    }
+    public abstract void setScore(int index, int value);
 
-    public int getTurnCount() {
-        return turnCount;
-    }
+    public abstract int getTurnCount();
 
-    public void setTurnCount(int turnCount) {
-        this.turnCount = turnCount;
-    }
+    public abstract void setTurnCount(int turnCount);
 
     public String getInvalidInputMessage() {
-        return invalidInputMessage;
+        return text.getInvalidInputMessage();
     }
 
     public void setInvalidInputMessage(String invalidInputMessage) {
-        this.invalidInputMessage = invalidInputMessage;
+        text = text.withInvalidInputMessage(invalidInputMessage);
     }
 
-    public boolean isTurnOver() {
-        return turnOver;
-    }
+    public abstract boolean isTurnOver();
 
-    public void setTurnOver(boolean turnOver) {
-        this.turnOver = turnOver;
-    }
+    public abstract void setTurnOver(boolean turnOver);
 
-    public boolean isGameExit() {
-        return gameExit;
-    }
+    public abstract boolean isGameExit();
 
-    public void setGameExit(boolean gameExit) {
-        this.gameExit = gameExit;
+    public abstract void setGameExit(boolean gameExit);
+
+    public abstract boolean isGameComplete();
+
+    public abstract void setGameComplete(boolean gameComplete);
+
+    public long getSeed() {
+        return seed;
     }
 
-    public boolean isGameComplete() {
-        return gameComplete;
+    // Reseeds the current dice source so the rest of the game can be reproduced
+    public void setSeed(long seed) {
+        this.seed = seed;
+        diceSource.setSeed(seed);
     }
 
-    public void setGameComplete(boolean gameComplete) {
-        this.gameComplete = gameComplete;
+    public DiceSource getDiceSource() {
+        return diceSource;
     }
 
-    private Random getGenerator() {
-        return generator;
+    public void setDiceSource(DiceSource diceSource) {
+        this.diceSource = diceSource;
     }
 
     // Constructor
-    public Game(int numberOfScores) {
-        scores = new int[numberOfScores];
-        Arrays.fill(scores, SCORE_NO_VALUE);
+    public Game() {
+        this((new java.util.Date()).getTime());
+    }
+
+    public Game(long seed) {
+        this.seed = seed;
+        diceSource = new SplitMixDiceSource(seed);
     }
 
     // Methods
+    public abstract void reset();
+
     public final int getRandomInt() {
-        return (getGenerator().nextInt(Yahtzee.MAX_NUMBER_ON_DIE) + 1);
+
+        long startNanos = GameMetrics.start(GameMetrics.DICE_ROLL);
+        int die = diceSource.rollDie();
+
+        GameMetrics.stop(GameMetrics.DICE_ROLL, startNanos, 1);
+
+        return die;
     }
 
 }
@@ -141,14 +146,14 @@ class Yahtzee extends Game {
     final static int CHANCE_INDEX = 12;
     final static int YAHTZEE_BONUS_INDEX = 13;
 
-    final static int DIE_NUMBER_INDEX = 0;
-    final static int DIE_COUNT_INDEX = 1;
-    final static int DIE_COUNT_COLUMN_SIZE = 2;
-
     final static int FULL_HOUSE_NUMBER_IN_GROUP_1 = 2;
     final static int FULL_HOUSE_NUMBER_IN_GROUP_2 = 3;
 
     final static int MAX_NUMBER_ON_DIE = 6;
+    final static int ALL_DICE_HELD = (1 << NUMBER_OF_DICE) - 1;
+
+    final static int BONUS_THRESHOLD = 63;
+    final static int BONUS_SCORE = 35;
 
     final static String REROLL_MESSAGE_1 = "Enter: S for ScoreCard; D for Dice; X to Exit";
     final static String REROLL_MESSAGE_2 = "Or: A series of numbers to re-roll dice as follows:";
@@ -165,162 +170,341 @@ class Yahtzee extends Game {
     final static String DISPLAY_DICE_RESPONSE = "D";
     final static String END_TURN_RESPONSE = "0";
 
+    // Turn commands and the events they produce
+    final static int COMMAND_ROLL = 1;
+    final static int COMMAND_HOLD = 2;
+    final static int COMMAND_SCORE = 3;
+    final static int COMMAND_EXIT = 4;
+
+    final static int EVENT_REJECTED = 0;
+    final static int EVENT_ROLLED = 1;
+    final static int EVENT_TURN_OVER = 2;
+    final static int EVENT_SCORED = 3;
+    final static int EVENT_GAME_OVER = 4;
+    final static int EVENT_EXITED = 5;
+
+    // Scores of every category before the first roll of the game
+    private final static int[] UNROLLED_SCORES = new int[NUMBER_OF_CATEGORIES];
+
     // Properties
-    private int fullHouseScore = 25;
-    private int smallStraightScore = 30;
-    private int largeStraightScore = 40;
-    private int yahtzeeScore = 50;
-    private int yahtzeeBonusScore = 100;
-    private String rollLabel = "Roll #";
-    private final int[] dice = new int[NUMBER_OF_DICE];
-    private int numberOfRolls = 0;
-    private int maxNumberRolls = 3;
-    private String welcomeMessage = "Welcome to YAHTZEE";
-    private String pressEnterMessage = "Press the Enter key to continue: ";
+    private YahtzeeRules rules = YahtzeeRules.DEFAULT;
+    private long packedScores = 0;
+    private long packedState = 0;
+
+    // Running totals of the filled categories, kept by setScore; recalculated when the packed words or the rules
+    // are replaced as a whole, as the YAHTZEE bonus is worth what the rules say
+    private int upperScore = 0;
+    private int lowerScore = 0;
+    private boolean totalsStale = false;
+    private int[] dieCount;
+    private GameRenderer renderer;
+    private GameRecorder recorder;
 
     // Setters and getters
+    public YahtzeeRules getRules() {
+        return rules;
+    }
+
+    public void setRules(YahtzeeRules rules) {
+        this.rules = rules;
+        totalsStale = true;
+    }
+
     public int getFullHouseScore() {
-        return fullHouseScore;
+        return rules.getFullHouseScore();
     }
 
     public void setFullHouseScore(int fullHouseScore) {
-        if (fullHouseScore >= 0)
-            this.fullHouseScore = fullHouseScore;
+        if (fullHouseScore > PackedGameState.MAX_FIXED_SCORE)
+            setRules(rules.withFullHouseScore(PackedGameState.MAX_FIXED_SCORE));
+        else if (fullHouseScore >= 0)
+            setRules(rules.withFullHouseScore(fullHouseScore));
         else
-            this.fullHouseScore = 0;
+            setRules(rules.withFullHouseScore(0));
     }
 
     public int getSmallStraightScore() {
-        return smallStraightScore;
+        return rules.getSmallStraightScore();
     }
 
     public void setSmallStraightScore(int smallStraightScore) {
-        if (smallStraightScore >= 0)
-            this.smallStraightScore = smallStraightScore;
+        if (smallStraightScore > PackedGameState.MAX_FIXED_SCORE)
+            setRules(rules.withSmallStraightScore(PackedGameState.MAX_FIXED_SCORE));
+        else if (smallStraightScore >= 0)
+            setRules(rules.withSmallStraightScore(smallStraightScore));
         else
-            this.smallStraightScore = 0;
+            setRules(rules.withSmallStraightScore(0));
     }
 
     public int getLargeStraightScore() {
-        return largeStraightScore;
+        return rules.getLargeStraightScore();
     }
 
     public void setLargeStraightScore(int largeStraightScore) {
-        if (largeStraightScore >= 0)
-            this.largeStraightScore = largeStraightScore;
+        if (largeStraightScore > PackedGameState.MAX_FIXED_SCORE)
+            setRules(rules.withLargeStraightScore(PackedGameState.MAX_FIXED_SCORE));
+        else if (largeStraightScore >= 0)
+            setRules(rules.withLargeStraightScore(largeStraightScore));
         else
-            this.largeStraightScore = 0;
+            setRules(rules.withLargeStraightScore(0));
     }
 
     public int getYahtzeeScore() {
-        return yahtzeeScore;
+        return rules.getYahtzeeScore();
     }
 
     public void setYahtzeeScore(int yahtzeeScore) {
-        if (yahtzeeScore >= 0)
-            this.yahtzeeScore = yahtzeeScore;
+        if (yahtzeeScore > PackedGameState.MAX_FIXED_SCORE)
+            setRules(rules.withYahtzeeScore(PackedGameState.MAX_FIXED_SCORE));
+        else if (yahtzeeScore >= 0)
+            setRules(rules.withYahtzeeScore(yahtzeeScore));
         else
-            this.yahtzeeScore = 0;
+            setRules(rules.withYahtzeeScore(0));
     }
 
     public int getYahtzeeBonusScore() {
-        return yahtzeeBonusScore;
+        return rules.getYahtzeeBonusScore();
     }
 
     public void setYahtzeeBonusScore(int yahtzeeBonusScore) {
         if (yahtzeeBonusScore >= 0)
-            this.yahtzeeBonusScore = yahtzeeBonusScore;
+            setRules(rules.withYahtzeeBonusScore(yahtzeeBonusScore));
+        else
+            setRules(rules.withYahtzeeBonusScore(0));
+    }
+
+    public int getUpperBonusThreshold() {
+        return rules.getUpperBonusThreshold();
+    }
+
+    public void setUpperBonusThreshold(int upperBonusThreshold) {
+        if (upperBonusThreshold >= 0)
+            setRules(rules.withUpperBonusThreshold(upperBonusThreshold));
         else
-            this.yahtzeeBonusScore = 0;
+            setRules(rules.withUpperBonusThreshold(0));
+    }
+
+    public int getUpperBonusScore() {
+        return rules.getUpperBonusScore();
+    }
+
+    public void setUpperBonusScore(int upperBonusScore) {
+        if (upperBonusScore >= 0)
+            setRules(rules.withUpperBonusScore(upperBonusScore));
+        else
+            setRules(rules.withUpperBonusScore(0));
     }
 
     public String getRollLabel() {
-        return rollLabel;
+        return getText().getRollLabel();
     }
 
     public void setRollLabel(String rollLabel) {
-        this.rollLabel = rollLabel;
+        setText(getText().withRollLabel(rollLabel));
+    }
+
+    @Override
+    public int getScore(int index) {
+        return PackedGameState.getScore(packedScores, packedState, index);
+    }
+
+    @Override
+    public void setScore(int index, int value) {
+
+        int oldValue = totalsStale ? SCORE_NO_VALUE : getScore(index);
+
+        if (PackedGameState.isStateScore(index))
+            packedState = PackedGameState.setScore(packedState, index, value);
+        else
+            packedScores = PackedGameState.setScore(packedScores, index, value);
+
+        packedState = PackedGameState.setFilled(packedState, index, value != SCORE_NO_VALUE);
+
+        if (totalsStale)
+            return;
+
+        int change = Math.max(0, value) - Math.max(0, oldValue);
+
+        if (index <= UPPER_CATEGORY_UPPER_BOUND_INDEX)
+            upperScore += change;
+        else if (index != YAHTZEE_BONUS_INDEX)
+            lowerScore += change;
+        else
+            lowerScore += change * getYahtzeeBonusScore();
+    }
+
+    // Categories filled so far, bit n for category index n
+    public int getFilledMask() {
+        return PackedGameState.filledMask(packedState);
+    }
+
+    @Override
+    public int getTurnCount() {
+        return PackedGameState.getTurnCount(packedState);
+    }
+
+    @Override
+    public void setTurnCount(int turnCount) {
+        packedState = PackedGameState.setTurnCount(packedState, turnCount);
+    }
+
+    @Override
+    public boolean isTurnOver() {
+        return PackedGameState.getFlag(packedState, PackedGameState.TURN_OVER_FLAG);
+    }
+
+    @Override
+    public void setTurnOver(boolean turnOver) {
+        packedState = PackedGameState.setFlag(packedState, PackedGameState.TURN_OVER_FLAG, turnOver);
+    }
+
+    @Override
+    public boolean isGameExit() {
+        return PackedGameState.getFlag(packedState, PackedGameState.GAME_EXIT_FLAG);
+    }
+
+    @Override
+    public void setGameExit(boolean gameExit) {
+        packedState = PackedGameState.setFlag(packedState, PackedGameState.GAME_EXIT_FLAG, gameExit);
+    }
+
+    @Override
+    public boolean isGameComplete() {
+        return PackedGameState.getFlag(packedState, PackedGameState.GAME_COMPLETE_FLAG);
+    }
+
+    @Override
+    public void setGameComplete(boolean gameComplete) {
+        packedState = PackedGameState.setFlag(packedState, PackedGameState.GAME_COMPLETE_FLAG, gameComplete);
     }
 
     public int getDice(int index) {
-        return dice[index];
+        return PackedGameState.getDie(packedState, index);
     }
 
     public void setDice(int index, int value) {
-        dice[index] = value;
+        packedState = PackedGameState.setDie(packedState, index, value);
+    }
+
+    // Rerolls every die not held (bit 0 = die #1) with one draw from the dice source and returns the draw
+    public int rollDice(int holdMask) {
+
+        long startNanos = GameMetrics.start(GameMetrics.DICE_ROLL);
+        int rerolled = NUMBER_OF_DICE - Integer.bitCount(holdMask & ALL_DICE_HELD);
+        int outcome = getDiceSource().rollDice(rerolled);
+
+        GameMetrics.stop(GameMetrics.DICE_ROLL, startNanos, rerolled);
+        packedState = PackedGameState.setRolledDice(packedState, holdMask, outcome);
+
+        return outcome;
+    }
+
+    public int getRollCode() {
+        return PackedGameState.rollCode(packedState);
+    }
+
+    public int getHandIndex() {
+        return DiceHands.ROLL_TO_HAND[getRollCode()];
     }
 
     public int getNumberOfRolls() {
-        return numberOfRolls;
+        return PackedGameState.getNumberOfRolls(packedState);
     }
 
     public void setNumberOfRolls(int numberOfRolls) {
-        this.numberOfRolls = numberOfRolls;
+        packedState = PackedGameState.setNumberOfRolls(packedState, numberOfRolls);
     }
 
     public int getMaxNumberRolls() {
-        return maxNumberRolls;
+        return rules.getMaxNumberRolls();
     }
 
     public void setMaxNumberRolls(int maxNumberRolls) {
-        this.maxNumberRolls = maxNumberRolls;
+        setRules(rules.withMaxNumberRolls(maxNumberRolls));
     }
 
     public String getWelcomeMessage() {
-        return welcomeMessage;
+        return getText().getWelcomeMessage();
     }
 
     public void setWelcomeMessage(String welcomeMessage) {
-        this.welcomeMessage = welcomeMessage;
+        setText(getText().withWelcomeMessage(welcomeMessage));
     }
 
     public String getPressEnterMessage() {
-        return pressEnterMessage;
+        return getText().getPressEnterMessage();
     }
 
     public void setPressEnterMessage(String pressEnterMessage) {
-        this.pressEnterMessage = pressEnterMessage;
+        setText(getText().withPressEnterMessage(pressEnterMessage));
     }
 
-    // Constructor
-    public Yahtzee() {
-        super(NUMBER_OF_CATEGORIES);
+    public long getPackedScores() {
+        return packedScores;
     }
 
-    // Methods
-    public void displayTurnNumber() {
+    public long getPackedState() {
+        return packedState;
+    }
 
-        int labelLength;
-        int centerValue;
+    public GameRecorder getRecorder() {
+        return recorder;
+    }
 
-        System.out.println(getBorderChar().repeat(getDisplayWidth()));
-        labelLength = (getTurnLabel() + getTurnCount() + " " + getRollLabel() + numberOfRolls).length();
-        centerValue = labelLength + ((getDisplayWidth()) - labelLength) / 2;
-        System.out.printf("%" + centerValue + "s", getTurnLabel() + getTurnCount() + " " + getRollLabel() + numberOfRolls);
-        System.out.println();
-        System.out.println(getBorderChar().repeat(getDisplayWidth()));
+    // Every command this game accepts from now on is recorded; null stops recording
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
     }
 
-    public void displayDice() {
+    // Each game renders into its own buffer, so sessions never share one
+    public GameRenderer getRenderer() {
 
-        final char UNICODE_DIE_INDEX = '\u267F';
+        if (renderer == null)
+            renderer = new GameRenderer();
 
-        final String DIE_LABEL_PREFIX = "Die #";
-        final String DIE_LABEL_SUFFIX = " = ";
+        return renderer;
+    }
 
-        System.out.println();
+    // Points this view at another game's packed state
+    public void setPackedState(long packedScores, long packedState) {
+        this.packedScores = packedScores;
+        this.packedState = packedState;
+        totalsStale = true;
+    }
 
-        displayTurnNumber();
+    // Constructor
+    public Yahtzee() {
+        super();
+    }
 
-        for (int i = 0; i < NUMBER_OF_DICE; i++) {
-            System.out.print(DIE_LABEL_PREFIX + (i + 1) + DIE_LABEL_SUFFIX);
+    public Yahtzee(long seed) {
+        super(seed);
+    }
 
-            System.out.print((char) ((int) UNICODE_DIE_INDEX + dice[i]));
+    // Methods
+    @Override
+    public void reset() {
+        packedScores = 0;
+        packedState = 0;
+        upperScore = 0;
+        lowerScore = 0;
+        totalsStale = false;
+    }
 
-            System.out.println(" (" + (dice[i]) + ")");
-        }
+    public void displayTurnNumber() {
+        displayTurnNumber(System.out);
+    }
+
+    public void displayTurnNumber(PrintStream outStream) {
+        getRenderer().displayTurnNumber(this, outStream);
+    }
 
-        System.out.println();
+    public void displayDice() {
+        displayDice(System.out);
+    }
+
+    public void displayDice(PrintStream outStream) {
+        getRenderer().displayDice(this, outStream);
     }
 
     //***
@@ -357,239 +541,105 @@ class Yahtzee extends Game {
     // Display now takes a printstream argument named outStream
     public void displayScoreSheet(PrintStream outStream) {
 
-        final String[] labels = new String[NUMBER_OF_CATEGORIES];
-
-        labels[ACES_INDEX] = "Aces";
-        labels[TWOS_INDEX] = "Twos";
-        labels[THREES_INDEX] = "Threes";
-        labels[FOURS_INDEX] = "Fours";
-        labels[FIVES_INDEX] ="Fives";
-        labels[SIXES_INDEX] = "Sixes";
-        labels[THREE_KIND_INDEX] = "3 of a kind";
-        labels[FOUR_KIND_INDEX] = "4 of a kind";
-        labels[FULL_HOUSE_INDEX] = "Full House";
-        labels[SMALL_STRAIGHT_INDEX] = "Sm. Straight";
-        labels[LARGE_STRAIGHT_INDEX] = "Lg. Straight";
-        labels[YAHTZEE_INDEX] = "YAHTZEE";
-        labels[CHANCE_INDEX] = "Chance";
-        labels[YAHTZEE_BONUS_INDEX] = "YAHTZEE BONUS";
-
-        final int BONUS_THRESHOLD = 63;
-        final int BONUS_SCORE = 35;
-
-        final String UPPER_SECTION_LABEL = "UPPER SECTION";
-        final String LOWER_SECTION_LABEL = "LOWER SECTION";
-        final String UPPER_SECTION_SUBTOTAL_LABEL = "TOTAL SCORE";
-        final String UPPER_SECTION_BONUS_LABEL = "BONUS if >= 63";
-        final String UPPER_SECTION_TOTAL_LABEL = "TOTAL of Upper Section";
-        final String LOWER_SECTION_TOTAL_LABEL = "TOTAL of Lower Section";
-        final String GRAND_TOTAL_LABEL = "GRAND TOTAL";
-
-        final String OPTION_SUFFIX_ONE_DIGIT = ")  ";
-        final String OPTION_SUFFIX_TWO_DIGIT = ") ";
-
-        final String EQUALS_LABEL = " = ";
+        long startNanos = GameMetrics.start(GameMetrics.SCORE_SHEET);
 
-        int upperScoreTotal = calculateUpperScore();
-        int lowerScoreTotal = calculateLowerScore();
-
-        //Printstream set to send to system
-        outStream.println();
-        outStream.println(UPPER_SECTION_LABEL);
-
-        for (int i = 0; i <= UPPER_CATEGORY_UPPER_BOUND_INDEX; i++) {
-            if (getScore(i) == SCORE_NO_VALUE)
-                //Printstream set to send to system
-                outStream.println((i+1) + OPTION_SUFFIX_ONE_DIGIT + labels[i]);
-            else
-                //Printstream set to send to system
-                outStream.println((i+1) + OPTION_SUFFIX_ONE_DIGIT + labels[i] + EQUALS_LABEL + getScore(i));
-        }
-
-        if (upperScoreTotal > 0)
-            //Printstream set to send to system
-            outStream.println(UPPER_SECTION_SUBTOTAL_LABEL + EQUALS_LABEL + upperScoreTotal);
-        else
-            //Printstream set to send to system
-            outStream.println(UPPER_SECTION_SUBTOTAL_LABEL);
-
-        if (upperScoreTotal >= BONUS_THRESHOLD)
-            //Printstream set to send to system
-            outStream.println(UPPER_SECTION_BONUS_LABEL + EQUALS_LABEL + BONUS_SCORE);
-        else
-            //Printstream set to send to system
-            outStream.println(UPPER_SECTION_BONUS_LABEL);
-
-        if (upperScoreTotal > 0)
-            if (upperScoreTotal >= BONUS_THRESHOLD)
-                //Printstream set to send to system
-                outStream.println(UPPER_SECTION_TOTAL_LABEL + EQUALS_LABEL + (upperScoreTotal + BONUS_SCORE));
-            else
-                //Printstream set to send to system
-                outStream.println(UPPER_SECTION_TOTAL_LABEL + EQUALS_LABEL + upperScoreTotal);
-        else
-            //Printstream set to send to system
-            outStream.println(UPPER_SECTION_TOTAL_LABEL);
-        //Printstream set to send to system
-        outStream.println();
-        //Printstream set to send to system
-        outStream.println(LOWER_SECTION_LABEL);
-
-        for (int i = (UPPER_CATEGORY_UPPER_BOUND_INDEX + 1); i <= LOWER_CATEGORY_UPPER_BOUND_INDEX; i++) {
-            if (i < 9)
-                //Printstream set to send to system
-                outStream.print((i+1) + OPTION_SUFFIX_ONE_DIGIT + labels[i]);
-            else
-                //Printstream set to send to system
-                outStream.print((i+1) + OPTION_SUFFIX_TWO_DIGIT + labels[i]);
-
-            if (i != YAHTZEE_BONUS_INDEX) {
-                if (getScore(i) != SCORE_NO_VALUE)
-                    //Printstream set to send to system
-                    outStream.println(EQUALS_LABEL + getScore(i));
-                else
-                    //Printstream set to send to system
-                    outStream.println();
-            }
-            else {
-                if (getScore(i) != SCORE_NO_VALUE)
-                    //Printstream set to send to system
-                    outStream.println(EQUALS_LABEL + (getScore(i) * getYahtzeeBonusScore()));
-                else
-                    //Printstream set to send to system
-                    outStream.println();
-            }
-        }
-
-        if (lowerScoreTotal > 0)
-            //Printstream set to send to system
-            outStream.println(LOWER_SECTION_TOTAL_LABEL + EQUALS_LABEL + lowerScoreTotal);
-        else
-            //Printstream set to send to system
-            outStream.println(LOWER_SECTION_TOTAL_LABEL);
-
-        if (upperScoreTotal > 0)
-            if (upperScoreTotal >= BONUS_THRESHOLD)
-                //Printstream set to send to system
-                outStream.println(UPPER_SECTION_TOTAL_LABEL + EQUALS_LABEL + (upperScoreTotal + BONUS_SCORE));
-            else
-                //Printstream set to send to system
-                outStream.println(UPPER_SECTION_TOTAL_LABEL + EQUALS_LABEL + upperScoreTotal);
-        else
-            //Printstream set to send to system
-            outStream.println(UPPER_SECTION_TOTAL_LABEL);
-
-        if (upperScoreTotal + lowerScoreTotal > 0)
-            if (upperScoreTotal >= BONUS_THRESHOLD)
-                //Printstream set to send to system
-                outStream.println(GRAND_TOTAL_LABEL + EQUALS_LABEL + (upperScoreTotal + lowerScoreTotal + BONUS_SCORE));
-            else
-                //Printstream set to send to system
-                outStream.println(GRAND_TOTAL_LABEL + EQUALS_LABEL + (upperScoreTotal + lowerScoreTotal));
-        else
-            //Printstream set to send to system
-            outStream.println(GRAND_TOTAL_LABEL);
-
-        outStream.println();
+        getRenderer().displayScoreSheet(this, outStream);
+        GameMetrics.stop(GameMetrics.SCORE_SHEET, startNanos);
     }
 
 
 
     public void calculateTurnScore(int scoreOption) {
 
+        long startNanos = GameMetrics.start(GameMetrics.TURN_SCORE);
         int scoreOption2Index = scoreOption - 1;
 
-        if (scoreOption2Index <= UPPER_CATEGORY_UPPER_BOUND_INDEX)
-            setScore(scoreOption2Index, calculateUpperSectionCategory(scoreOption));
-        else {
-            int[][] dieCount = calculateLowerSectionCategory();
-
-            switch (scoreOption2Index) {
-
-                case THREE_KIND_INDEX:
-                    setScore(THREE_KIND_INDEX, calculateNOfKind(dieCount, 3));
-
-                    break;
+        // Before the first roll of the game there is no hand, and every category scores 0
+        boolean rolled = getDice(0) != 0;
+        int hand = rolled ? getHandIndex() : 0;
+        int handOffset = hand * NUMBER_OF_CATEGORIES;
+        boolean joker = rolled && rules.isJoker(hand, getFilledMask());
+        int[] handScores = !rolled ? UNROLLED_SCORES : joker ? rules.getJokerScoreTable() : getScoreTable();
 
-                case FOUR_KIND_INDEX:
-                    setScore(FOUR_KIND_INDEX, calculateNOfKind(dieCount, 4));
+        // A forced Joker earns the bonus on top of the category it is scored in
+        if (joker && getYahtzeeScore() > 0 && getScore(YAHTZEE_INDEX) == getYahtzeeScore())
+            setScore(YAHTZEE_BONUS_INDEX, getScore(YAHTZEE_BONUS_INDEX) + 1);
 
-                    break;
+        switch (scoreOption2Index) {
 
-                case FULL_HOUSE_INDEX:
-                    setScore(FULL_HOUSE_INDEX, calculateFullHouse(dieCount));
+            case YAHTZEE_INDEX:
+                setScore(YAHTZEE_INDEX, handScores[handOffset + YAHTZEE_INDEX]);
+                setScore(YAHTZEE_BONUS_INDEX, 0);
 
-                    break;
+                break;
 
-                case SMALL_STRAIGHT_INDEX:
-                    if (calculateNStraight(dieCount, 4))
-                        setScore(SMALL_STRAIGHT_INDEX, getSmallStraightScore());
+            case YAHTZEE_BONUS_INDEX:
+                if (getScore(YAHTZEE_INDEX) == SCORE_NO_VALUE) {
+                    setScore(YAHTZEE_INDEX, handScores[handOffset + YAHTZEE_INDEX]);
+                    setScore(YAHTZEE_BONUS_INDEX, 0);
+                }
+                else if (getScore(YAHTZEE_INDEX) == getYahtzeeScore() &&
+                        handScores[handOffset + YAHTZEE_INDEX] == getYahtzeeScore())
+                    setScore(YAHTZEE_BONUS_INDEX, getScore(YAHTZEE_BONUS_INDEX) + 1);
 
-                    else
-                        setScore(SMALL_STRAIGHT_INDEX, 0);
+                break;
 
-                    break;
+            default:
+                setScore(scoreOption2Index, handScores[handOffset + scoreOption2Index]);
+        }
 
-                case LARGE_STRAIGHT_INDEX:
-                    if (calculateNStraight(dieCount, 5))
-                        setScore(LARGE_STRAIGHT_INDEX, getLargeStraightScore());
-                    else
-                        setScore(LARGE_STRAIGHT_INDEX, 0);
+        GameMetrics.stop(GameMetrics.TURN_SCORE, startNanos, scoreOption);
+    }
 
-                    break;
+    public int[] getScoreTable() {
+        return rules.getScoreTable();
+    }
 
-                case YAHTZEE_INDEX:
-                    if (dieCount.length == 1)
-                        setScore(YAHTZEE_INDEX, getYahtzeeScore());
-                    else
-                        setScore(YAHTZEE_INDEX, 0);
+    // Exhaustive check of the lookup table against the calculate methods over all ordered rolls
+    public boolean verifyScoreTable() {
 
-                    setScore(YAHTZEE_BONUS_INDEX, 0);
+        long savedState = packedState;
+        int[] handScores = getScoreTable();
+        boolean matches = true;
 
-                    break;
+        for (int rollCode = 0; rollCode < DiceHands.NUMBER_OF_ROLLS && matches; rollCode++) {
+            packedState = PackedGameState.setRolledDice(packedState, 0, rollCode);
 
-                case CHANCE_INDEX:
-                    setScore(CHANCE_INDEX, calculateChance());
+            int handOffset = getHandIndex() * NUMBER_OF_CATEGORIES;
+            int[] dieCount = calculateLowerSectionCategory();
+            int[] expected = new int[NUMBER_OF_CATEGORIES];
 
-                    break;
+            for (int i = 0; i <= UPPER_CATEGORY_UPPER_BOUND_INDEX; i++)
+                expected[i] = calculateUpperSectionCategory(i + 1);
 
-                case YAHTZEE_BONUS_INDEX:
-                    if (getScore(YAHTZEE_INDEX) == SCORE_NO_VALUE) {
-                        setScore(YAHTZEE_INDEX, calculateYahtzee());
-                        setScore(YAHTZEE_BONUS_INDEX, 0);
-                    }
-                    else if (getScore(YAHTZEE_INDEX) == getYahtzeeScore() && calculateYahtzee() == getYahtzeeScore())
-                        setScore(YAHTZEE_BONUS_INDEX, getScore(YAHTZEE_BONUS_INDEX) + 1);
+            expected[THREE_KIND_INDEX] = calculateNOfKind(dieCount, 3);
+            expected[FOUR_KIND_INDEX] = calculateNOfKind(dieCount, 4);
+            expected[FULL_HOUSE_INDEX] = calculateFullHouse(dieCount);
+            expected[SMALL_STRAIGHT_INDEX] = calculateNStraight(dieCount, 4) ? getSmallStraightScore() : 0;
+            expected[LARGE_STRAIGHT_INDEX] = calculateNStraight(dieCount, 5) ? getLargeStraightScore() : 0;
+            expected[YAHTZEE_INDEX] = calculateYahtzee();
+            expected[CHANCE_INDEX] = calculateChance();
+            expected[YAHTZEE_BONUS_INDEX] = calculateYahtzee();
 
-                    break;
-            }
+            for (int i = 0; i < NUMBER_OF_CATEGORIES; i++)
+                if (handScores[handOffset + i] != expected[i])
+                    matches = false;
         }
-    }
 
-    public int[][] calculateLowerSectionCategory() {
+        packedState = savedState;
 
-        int[] tempDice = new int[NUMBER_OF_DICE];
-        System.arraycopy(dice, 0, tempDice, 0, dice.length);
-        Arrays.sort(tempDice);
+        return matches;
+    }
 
-        int[][] dieCount = new int[1][DIE_COUNT_COLUMN_SIZE];
-        dieCount[dieCount.length-1][DIE_NUMBER_INDEX] = tempDice[0];
-        dieCount[dieCount.length-1][DIE_COUNT_INDEX] = 1;
+    public int[] calculateLowerSectionCategory() {
 
-        for (int i = 1; i < tempDice.length; i++) {
-            if (tempDice[i] == dieCount[dieCount.length-1][DIE_NUMBER_INDEX]) {
-                dieCount[dieCount.length-1][DIE_COUNT_INDEX]++;
-            }
-            else {
-                int[][] tempDieCount = new int[dieCount.length + 1][DIE_COUNT_COLUMN_SIZE];
-                System.arraycopy(dieCount, 0, tempDieCount, 0, dieCount.length);
+        if (dieCount == null)
+            dieCount = new int[MAX_NUMBER_ON_DIE + 1];
 
-                tempDieCount[tempDieCount.length-1][DIE_NUMBER_INDEX] = tempDice[i];
-                tempDieCount[tempDieCount.length-1][DIE_COUNT_INDEX] = 1;
+        Arrays.fill(dieCount, 0);
 
-                dieCount = tempDieCount;
-            }
-        }
+        for (int i = 0; i < NUMBER_OF_DICE; i++)
+            dieCount[getDice(i)]++;
 
         return dieCount;
     }
@@ -599,61 +649,82 @@ class Yahtzee extends Game {
         int score = 0;
 
         for (int i = 0; i < NUMBER_OF_DICE; i++) {
-            if (dice[i] == dieNumber)
-                score += dice[i];
+            if (getDice(i) == dieNumber)
+                score += getDice(i);
         }
 
         return score;
     }
 
-    public int calculateNOfKind(int[][] dieCount, int nKind) {
+    public int calculateNOfKind(int[] dieCount, int nKind) {
 
         int score = 0;
         boolean isNKind = false;
+        int kindNumber = 0;
 
-        for (int i = 0; i < dieCount.length; i++) {
-            if (dieCount[i][DIE_COUNT_INDEX] >= nKind)
+        for (int i = 1; i <= MAX_NUMBER_ON_DIE; i++) {
+            if (dieCount[i] >= nKind) {
                 isNKind = true;
+                kindNumber = i;
+            }
         }
 
-        if (isNKind)
+        if (isNKind && rules.getKindScoring() == YahtzeeRules.KIND_SCORING_MATCHING_DICE)
+            score = nKind * kindNumber;
+        else if (isNKind)
             for (int i = 0; i < NUMBER_OF_DICE; i++)
-                score += dice[i];
+                score += getDice(i);
 
         return score;
     }
 
-    public int calculateFullHouse(int[][] dieCount) {
+    public int calculateFullHouse(int[] dieCount) {
 
         int score = 0;
+        boolean isGroup1 = false;
+        boolean isGroup2 = false;
+
+        for (int i = 1; i <= MAX_NUMBER_ON_DIE; i++) {
+            if (dieCount[i] == FULL_HOUSE_NUMBER_IN_GROUP_1)
+                isGroup1 = true;
+            else if (dieCount[i] == FULL_HOUSE_NUMBER_IN_GROUP_2)
+                isGroup2 = true;
+        }
 
-        if (dieCount.length == 2 &&
-                ((dieCount[0][DIE_COUNT_INDEX] == FULL_HOUSE_NUMBER_IN_GROUP_1 &&
-                        dieCount[1][DIE_COUNT_INDEX] == FULL_HOUSE_NUMBER_IN_GROUP_2)
-                        ||
-                        (dieCount[1][DIE_COUNT_INDEX] == FULL_HOUSE_NUMBER_IN_GROUP_1 &&
-                                dieCount[0][DIE_COUNT_INDEX] == FULL_HOUSE_NUMBER_IN_GROUP_2)))
+        if (isGroup1 && isGroup2 && rules.getKindScoring() == YahtzeeRules.KIND_SCORING_MATCHING_DICE)
+            score = calculateChance();
+        else if (isGroup1 && isGroup2)
             score = getFullHouseScore();
 
         return score;
     }
 
-    public boolean calculateNStraight(int[][] dieCount, int nStraight) {
+    public boolean calculateNStraight(int[] dieCount, int nStraight) {
 
-        boolean isNStraight = false;
-        int n = 1;
+        int highestNumber = MAX_NUMBER_ON_DIE;
+        int n = 0;
 
-        for (int i = 0; i < dieCount.length-1; i++) {
-            if (dieCount[i][DIE_NUMBER_INDEX] == dieCount[i+1][DIE_NUMBER_INDEX]-1)
-                n++;
-            else
-                n = 1;
+        while (dieCount[highestNumber] == 0)
+            highestNumber--;
+
+        if (rules.getStraightRule() == YahtzeeRules.STRAIGHT_ANY_RUN) {
+            for (int i = 1, run = 0; i <= MAX_NUMBER_ON_DIE; i++) {
+                run = (dieCount[i] > 0) ? run + 1 : 0;
+                n = Math.max(n, run);
+            }
+
+            return n >= nStraight;
         }
 
-        if (n >= nStraight)
-            isNStraight = true;
+        // Only the run of consecutive numbers ending at the highest die counts
+        for (int i = highestNumber; i >= 1 && dieCount[i] > 0; i--)
+            n++;
+
+        // Fixed straights are all five dice: 1-5 for the small one and 2-6 for the large one
+        if (rules.getStraightRule() == YahtzeeRules.STRAIGHT_FIXED)
+            return n == NUMBER_OF_DICE && highestNumber == nStraight + 1;
 
-        return isNStraight;
+        return n >= nStraight;
     }
 
     public int calculateYahtzee() {
@@ -662,7 +733,7 @@ class Yahtzee extends Game {
         boolean isYahtzee = true;
 
         for (int i = 0; i < NUMBER_OF_DICE - 1; i++) {
-            if (dice[i] != dice[i+1]) {
+            if (getDice(i) != getDice(i+1)) {
                 isYahtzee = false;
             }
         }
@@ -678,7 +749,7 @@ class Yahtzee extends Game {
         int chance = 0;
 
         for (int i = 0; i < NUMBER_OF_DICE; i++) {
-            chance += dice[i];
+            chance += getDice(i);
         }
 
         return chance;
@@ -686,66 +757,188 @@ class Yahtzee extends Game {
 
     public int calculateUpperScore() {
 
-        int score = 0;
+        if (totalsStale)
+            recalculateTotals();
 
-        for (int i = 0; i <= UPPER_CATEGORY_UPPER_BOUND_INDEX; i++)
-            if (getScore(i) != SCORE_NO_VALUE)
-                score += getScore(i);
-
-        return score;
+        return upperScore;
     }
 
     public int calculateLowerScore() {
 
-        int score = 0;
+        if (totalsStale)
+            recalculateTotals();
+
+        return lowerScore;
+    }
+
+    public int calculateUpperBonus() {
+        return rules.calculateUpperBonus(calculateUpperScore());
+    }
+
+    private void recalculateTotals() {
+
+        upperScore = 0;
+        lowerScore = 0;
+
+        for (int i = 0; i <= UPPER_CATEGORY_UPPER_BOUND_INDEX; i++)
+            if (getScore(i) != SCORE_NO_VALUE)
+                upperScore += getScore(i);
 
         for (int i = UPPER_CATEGORY_UPPER_BOUND_INDEX + 1; i <= LOWER_CATEGORY_UPPER_BOUND_INDEX; i++)
             if (i != YAHTZEE_BONUS_INDEX) {
                 if (getScore(i) != SCORE_NO_VALUE)
-                    score += getScore(i);
+                    lowerScore += getScore(i);
             }
             else {
                 if (getScore(i) != SCORE_NO_VALUE)
-                    score += (getScore(i) * getYahtzeeBonusScore());
+                    lowerScore += (getScore(i) * getYahtzeeBonusScore());
             }
 
-        return score;
+        totalsStale = false;
     }
 
+    public int calculateGrandTotal() {
+
+        int upperScoreTotal = calculateUpperScore();
+
+        return upperScoreTotal + rules.calculateUpperBonus(upperScoreTotal) + calculateLowerScore();
+    }
+
+    // True when the current dice may not be scored in category scoreOption (1-14) under the rules
     public boolean isCategoryUsed(int scoreOption) {
+        return (getAllowedCategories() & (1 << (scoreOption - 1))) == 0;
+    }
+
+    // Categories (bit n = index n) the current dice may be scored in
+    public int getAllowedCategories() {
+
+        // Before the first roll of the game there is no hand; only the filled categories count
+        if (getDice(0) == 0)
+            return ~getFilledMask() & YahtzeeRules.FULL_CARD_MASK;
 
-        boolean used = false;
+        return rules.allowedCategories(getHandIndex(), getFilledMask(),
+                getScore(YAHTZEE_INDEX) == getYahtzeeScore());
+    }
 
-        if ((scoreOption - 1) != YAHTZEE_BONUS_INDEX) {
-            if (getScore(scoreOption - 1) != SCORE_NO_VALUE)
-                used = true;
+    public boolean isGameOver() {
+        return (getFilledMask() & YahtzeeRules.FULL_CARD_MASK) == YahtzeeRules.FULL_CARD_MASK;
+    }
+
+    // A turn starts with Roll, rerolls with Hold until Hold(ALL_DICE_HELD) or the last roll, then ends with Score.
+    // Zero rolls means the game is waiting for Roll; commands that do not fit the current state are rejected.
+    public int execute(int command, int argument) {
+
+        switch (command) {
+            case COMMAND_ROLL:
+                return roll();
+            case COMMAND_HOLD:
+                return hold(argument);
+            case COMMAND_SCORE:
+                return score(argument);
+            case COMMAND_EXIT:
+                return exit();
+            default:
+                return EVENT_REJECTED;
         }
-        else {
-            if (getScore(YAHTZEE_INDEX) == getYahtzeeScore() && calculateYahtzee() != getYahtzeeScore())
-                used = true;
+    }
+
+    public boolean isAwaitingRoll() {
+        return getNumberOfRolls() == 0 && !isGameExit() && !isGameComplete();
+    }
+
+    public int roll() {
+
+        if (!isAwaitingRoll())
+            return EVENT_REJECTED;
+
+        setTurnCount(getTurnCount() + 1);
+
+        int outcome = rollDice(0);
+
+        setNumberOfRolls(1);
+
+        if (recorder != null)
+            recorder.recordRoll(this, outcome);
+
+        setTurnOver(getNumberOfRolls() >= getMaxNumberRolls());
+
+        return isTurnOver() ? EVENT_TURN_OVER : EVENT_ROLLED;
+    }
+
+    // Rerolls every die not in holdMask (bit 0 = die #1); holding all five ends the rolling
+    public int hold(int holdMask) {
+
+        if (getNumberOfRolls() == 0 || isTurnOver() || isGameExit() || isGameComplete() ||
+                holdMask < 0 || holdMask > ALL_DICE_HELD)
+            return EVENT_REJECTED;
+
+        if (holdMask != ALL_DICE_HELD) {
+            int outcome = rollDice(holdMask);
+
+            setNumberOfRolls(getNumberOfRolls() + 1);
+
+            if (recorder != null)
+                recorder.recordHold(holdMask, outcome);
         }
 
-        return used;
+        setTurnOver(holdMask == ALL_DICE_HELD || getNumberOfRolls() >= getMaxNumberRolls());
+
+        return isTurnOver() ? EVENT_TURN_OVER : EVENT_ROLLED;
     }
 
-    public boolean isGameOver() {
+    // Scores the current dice in category scoreOption (1-14) and waits for the next Roll
+    public int score(int scoreOption) {
 
-        boolean gameOver = true;
+        if (getNumberOfRolls() == 0 || !isTurnOver() || isGameExit() || isGameComplete() ||
+                scoreOption < 1 || scoreOption > NUMBER_OF_CATEGORIES || isCategoryUsed(scoreOption))
+            return EVENT_REJECTED;
 
-        for (int i = 0; i < NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME; i++)
-            if (getScore(i) == SCORE_NO_VALUE)
-                gameOver = false;
+        int grandTotal = (recorder != null) ? calculateGrandTotal() : 0;
+
+        calculateTurnScore(scoreOption);
+        setNumberOfRolls(0);
+        setGameComplete(isGameOver());
+
+        if (recorder != null)
+            recorder.recordScore(this, scoreOption, calculateGrandTotal() - grandTotal);
+
+        return isGameComplete() ? EVENT_GAME_OVER : EVENT_SCORED;
+    }
+
+    public int exit() {
+
+        setGameExit(true);
+
+        if (recorder != null)
+            recorder.recordExit(this);
+
+        return EVENT_EXITED;
+    }
 
-        return gameOver;
+    // Dice to hold (bit 0 = die #1) for the best expected final score with the rolls left this turn
+    public int calculateBestHoldMask(RerollAdvisor advisor) {
+        return advisor.bestHoldMask(getRollCode(), getMaxNumberRolls() - getNumberOfRolls(), StrategyTable.stateIndex(this));
+    }
+
+    // Category (1-14) for the best expected final score with the current dice
+    public int calculateBestCategory(RerollAdvisor advisor) {
+        return advisor.bestCategory(getRollCode(), StrategyTable.stateIndex(this));
     }
 
     public void displayErrorMessage() {
+        displayErrorMessage(System.out);
+    }
+
+    public void displayErrorMessage(PrintStream outStream) {
+        getRenderer().displayErrorMessage(this, outStream);
+    }
 
-        System.out.println();
+    public void displayRerollPrompt(PrintStream outStream) {
+        getRenderer().displayRerollPrompt(this, outStream);
+    }
 
-        System.out.println(getBorderChar().repeat(getInvalidInputMessage().length()));
-        System.out.println(getInvalidInputMessage());
-        System.out.println(getBorderChar().repeat(getInvalidInputMessage().length()));
+    public void displayCategoryPrompt(PrintStream outStream) {
+        getRenderer().displayCategoryPrompt(outStream);
     }
 
 }
@@ -766,17 +959,44 @@ public class CSC151FinalProject {
         // GameOfYahtzee is a new implementation of the class Yahtzee
         Yahtzee GameOfYahtzee = new Yahtzee();
 
-        final int ASCII_DICE_INDEX = 49;
+        // Standard rules unless -Dyahtzee.rules names another preset
+        GameOfYahtzee.setRules(YahtzeeRules.fromSystemProperty());
+
         final String OUTPUT_FILE_NAME = "output.txt";
         final String OUTPUT_FILE_ERROR_MESSAGE = "Error opening file: ";
 
-        String dice2Reroll;
-        String scoreOptionInput;
-        int scoreOption = 0;
+        CommandReader input = new CommandReader(System.in);
 
-        Scanner input = new Scanner(System.in);
+        playGame(GameOfYahtzee, input, System.out);
 
-        System.out.println();
+            //display score sheet with method
+            GameOfYahtzee.displayScoreSheet();
+
+            // New instance of File set to file constant
+            File outputFile = new File(OUTPUT_FILE_NAME);
+       
+            try (PrintStream outputStream = new PrintStream(outputFile)) {
+                GameOfYahtzee.displayScoreSheet(outputStream);
+            } catch (Exception ex) {
+                // Prints File constant plus the name
+                System.out.println(OUTPUT_FILE_ERROR_MESSAGE + outputFile.getName());
+                ex.printStackTrace();
+            }
+        }
+
+    // Runs the prompt flow until the game is complete or the player exits; used by the console and GameServer
+    static void playGame(Yahtzee GameOfYahtzee, CommandReader input, PrintStream outStream) {
+        playGame(GameOfYahtzee, input, outStream, null);
+    }
+
+    // turnScored, when not null, is given the game after every scored turn, before the score sheet is displayed
+    static void playGame(Yahtzee GameOfYahtzee, CommandReader input, PrintStream outStream,
+                         Consumer<Yahtzee> turnScored) {
+
+        int holdMask;
+        int scoreOption = 0;
+
+        outStream.println();
 
         //***
         //*** INSTRUCTIONS FOR CODE FOR YOU TO WRITE
@@ -787,10 +1007,10 @@ public class CSC151FinalProject {
         //*** This is one line of code.
 
         // Display the welcome message using the get welcome method
-       System.out.println(GameOfYahtzee.getWelcomeMessage());
+       outStream.println(GameOfYahtzee.getWelcomeMessage());
 
         do {
-            System.out.println();
+            outStream.println();
 
             //***
             //*** INSTRUCTIONS FOR CODE FOR YOU TO WRITE
@@ -801,135 +1021,63 @@ public class CSC151FinalProject {
             //*** This is one line of code.
 
             // Display press enter message by using the getter method
-            System.out.println(GameOfYahtzee.getPressEnterMessage());
-            input.nextLine();
-
-            //***
-            //*** INSTRUCTIONS FOR CODE FOR YOU TO WRITE
-            //***
-            //*** 1) Add 1 to the value of property turnCount by invoking the getter and setter of property turnCount
-            //***        on variable GameOfYahztee.
-            //***
-            //*** This can be completed in as little as one line of code. If you prefer, it can be completed in more
-            //***     than one line of code.
-
-            //Getter and setter methods called to update player turn count.
-           // GameOfYahtzee.getTurnCount();
-            GameOfYahtzee.setTurnCount(GameOfYahtzee.getTurnCount() + 1);
-
-            for (int i = 0; i < Yahtzee.NUMBER_OF_DICE; i++) {
-
-                //***
-                //*** INSTRUCTIONS FOR CODE FOR YOU TO WRITE
-                //***
-                //*** 1) Invoke method getRandomInt on variable GameOfYahztee passing no arguments.
-                //*** 2) Invoke method setDice on variable GameOfYahztee.
-                //***    a) The first argument being the for-loop control variable i.
-                //***    b) The second argument being the return value of Step 1.
-                //***
-                //*** This can be completed in as little as one line of code. If you prefer, it can be completed in more
-                //***     than one line of code.
-
-                //Setter method called to update die.
-                GameOfYahtzee.setDice(i, GameOfYahtzee.getRandomInt());
+            outStream.println(GameOfYahtzee.getPressEnterMessage());
+            readLine(input);
 
-            }
-            //***
-            //*** INSTRUCTIONS FOR CODE FOR YOU TO WRITE
-            //***
-            //*** 1) Invoke method setNumberOfRolls on variable GameOfYahztee passing the argument of 1.
-            //*** 2) Invoke method displayDice on variable GameOfYahztee passing no arguments.
-            //*** 3) Invoke method setTurnOver on variable GameOfYahztee passing the argument of false.
-            //***
-            //*** This is three lines of code.
-            //***
-            //*** Setter methods called to set rolls and turnover to false. Die is displayed.
-            //***
-            GameOfYahtzee.setNumberOfRolls(1);
-            GameOfYahtzee.displayDice();
-            GameOfYahtzee.setTurnOver(false);
-
-            do {
-                System.out.println();
-                System.out.println(Yahtzee.REROLL_MESSAGE_1);
-                System.out.println();
+            // Roll starts the turn: next turn number, all five dice and the first roll
+            GameOfYahtzee.roll();
+            GameOfYahtzee.displayDice(outStream);
 
-                System.out.println(Yahtzee.REROLL_MESSAGE_2);
-                System.out.println(Yahtzee.REROLL_MESSAGE_3);
-                System.out.println(Yahtzee.REROLL_MESSAGE_4);
+            while (!GameOfYahtzee.isTurnOver() && !GameOfYahtzee.isGameExit()) {
+                GameOfYahtzee.displayRerollPrompt(outStream);
 
-                System.out.println();
-                System.out.printf(Yahtzee.REROLL_MESSAGE_5, (GameOfYahtzee.getMaxNumberRolls() - GameOfYahtzee.getNumberOfRolls()));
-                System.out.println();
+                readLine(input);
 
-                System.out.println();
-                System.out.print(Yahtzee.REROLL_MESSAGE_6);
+                long parseStartNanos = GameMetrics.start(GameMetrics.REROLL_PARSE);
 
-                dice2Reroll = input.nextLine();
-                dice2Reroll = dice2Reroll.trim();
+                holdMask = input.parseReroll();
+                GameMetrics.stop(GameMetrics.REROLL_PARSE, parseStartNanos, holdMask);
 
-                switch (dice2Reroll.toUpperCase()) {
+                switch (holdMask) {
 
-                    // Constant from Yahtzee
-                    case Yahtzee.EXIT_RESPONSE:
-                        // Setters used to set turn and game exit
-                        GameOfYahtzee.setTurnOver(false);
-                        GameOfYahtzee.setGameExit(true);
+                    // Constant from CommandReader
+                    case CommandReader.COMMAND_EXIT:
+                        // Exit ends the game straight away
+                        GameOfYahtzee.exit();
                         break;
-                    // Constant from Yahtzee
-                    case Yahtzee.SCORE_CARD_RESPONSE:
+                    // Constant from CommandReader
+                    case CommandReader.COMMAND_SCORE_CARD:
                         // displays the score sheet
-                        GameOfYahtzee.displayScoreSheet();
+                        GameOfYahtzee.displayScoreSheet(outStream);
                         break;
-                    // Constant from Yahtzee
-                    case Yahtzee.DISPLAY_DICE_RESPONSE:
+                    // Constant from CommandReader
+                    case CommandReader.COMMAND_DISPLAY_DICE:
                         // displays the die
-                        GameOfYahtzee.displayDice();
+                        GameOfYahtzee.displayDice(outStream);
                         break;
-                    // Constant from Yahtzee
-                    case Yahtzee.END_TURN_RESPONSE:
-                        // setter method to set turn over to true
-                        GameOfYahtzee.setTurnOver(true);
+                    // Constant from CommandReader
+                    case CommandReader.COMMAND_END_TURN:
+                        // holding every die ends the rolling
+                        GameOfYahtzee.hold(Yahtzee.ALL_DICE_HELD);
                         break;
-                    // Constant from Yahtzee
-                    case "":
-                        // error message displayed if blank
-                        GameOfYahtzee.displayErrorMessage();
+                    // Constant from CommandReader
+                    case CommandReader.COMMAND_INVALID:
+                        // error message displayed if blank or not dice 1-5 each listed once
+                        GameOfYahtzee.displayErrorMessage(outStream);
                         break;
 
                     default:
-                        dice2Reroll = dice2Reroll.replace(" ", "");
-                        String checkDice2Reroll = dice2Reroll;
-
-                        for (int i = 1; i <= Yahtzee.NUMBER_OF_DICE; i++) {
-                            checkDice2Reroll = checkDice2Reroll.replaceFirst(String.valueOf(i), " ");
-                        }
-
-                        if (checkDice2Reroll.isBlank()) {
-                            for (int i = 0; i < dice2Reroll.length(); i++) {
-                                GameOfYahtzee.setDice(((int) dice2Reroll.charAt(i)) - ASCII_DICE_INDEX, GameOfYahtzee.getRandomInt());
-                            }
-
-                            // Setter and getter methods to update the number of rolls in game.
-                            GameOfYahtzee.setNumberOfRolls(GameOfYahtzee.getNumberOfRolls() + 1);
-                            GameOfYahtzee.displayDice();
-
-                            // If statement to determine if max number of rolls has been met
-                            if (GameOfYahtzee.getNumberOfRolls() == GameOfYahtzee.getMaxNumberRolls())
-                                GameOfYahtzee.setTurnOver(true);
-                            } else {
-                                GameOfYahtzee.displayErrorMessage();
-                            }
-
+                        // Hold ends the turn itself once the max number of rolls has been met
+                        GameOfYahtzee.hold(holdMask);
+                        GameOfYahtzee.displayDice(outStream);
 
                         } // This is the closing curly brace for the switch statement.
                 }
-                while (!GameOfYahtzee.isTurnOver()) ;
 
                 if (!GameOfYahtzee.isGameExit()) {
 
                    // Displays score sheet using method
-                    GameOfYahtzee.displayScoreSheet();
+                    GameOfYahtzee.displayScoreSheet(outStream);
 
                     boolean isValidEntry;
                     boolean categoryPicked;
@@ -940,62 +1088,47 @@ public class CSC151FinalProject {
                         isValidEntry = true;
                         categoryPicked = false;
 
-                        System.out.println();
-                        System.out.println(Yahtzee.CATEGORY_MESSAGE_1);
-                        System.out.println();
+                        GameOfYahtzee.displayCategoryPrompt(outStream);
 
-                        System.out.print(Yahtzee.CATEGORY_MESSAGE_2);
+                        readLine(input);
 
-                        scoreOptionInput = input.nextLine();
-                        scoreOptionInput = scoreOptionInput.trim();
+                        scoreOption = input.parseCategory();
 
-                        scoreOption = 0;
-
-                        switch (scoreOptionInput.toUpperCase()) {
+                        switch (scoreOption) {
 
                             // If exit response constant set game exit to true
-                            case Yahtzee.EXIT_RESPONSE:
-                                GameOfYahtzee.setGameExit(true);
+                            case CommandReader.COMMAND_EXIT:
+                                GameOfYahtzee.exit();
                                 break;
                             // If score card constant display score sheet
-                            case Yahtzee.SCORE_CARD_RESPONSE:
-                                GameOfYahtzee.displayScoreSheet();
+                            case CommandReader.COMMAND_SCORE_CARD:
+                                GameOfYahtzee.displayScoreSheet(outStream);
                                 break;
                             // If display die constant display die
-                            case Yahtzee.DISPLAY_DICE_RESPONSE:
-                                GameOfYahtzee.displayDice();
+                            case CommandReader.COMMAND_DISPLAY_DICE:
+                                GameOfYahtzee.displayDice(outStream);
                                 break;
-                            // If blank constant display error
-                            case "":
-                                GameOfYahtzee.displayErrorMessage();
+                            // If blank display error, or one error for every character that is not a digit
+                            case CommandReader.COMMAND_INVALID:
+                                for (int x = 0; x < Math.max(1, input.getInvalidCharacters()); x++)
+                                    GameOfYahtzee.displayErrorMessage(outStream);
+
                                 break;
 
                             default:
-                                for (int x = 0; x < scoreOptionInput.length(); x++)
-                                    if (!(Character.isDigit(scoreOptionInput.charAt(x)))) {
-                                        isValidEntry = false;
-                                        GameOfYahtzee.displayErrorMessage();
-                                    }
-
-                                if (isValidEntry) {
-                                    scoreOption = Integer.parseInt(scoreOptionInput);
-
-                                    if (scoreOption < 1 || scoreOption > Yahtzee.NUMBER_OF_CATEGORIES) {
-                                        isValidEntry = false;
-                                        GameOfYahtzee.displayErrorMessage();
-                                    }
-                                }
-
-                                if (isValidEntry && GameOfYahtzee.isCategoryUsed(scoreOption)) {
+                                // Score rejects a category out of range or already used
+                                if (GameOfYahtzee.score(scoreOption) == Yahtzee.EVENT_REJECTED) {
                                     isValidEntry = false;
-                                    GameOfYahtzee.displayErrorMessage();
+                                    GameOfYahtzee.displayErrorMessage(outStream);
                                 }
 
                                 if (isValidEntry) {
                                     categoryPicked = true;
-                                    GameOfYahtzee.calculateTurnScore(scoreOption);
-                                    GameOfYahtzee.displayScoreSheet();
-                                    GameOfYahtzee.setGameComplete(GameOfYahtzee.isGameOver());
+
+                                    if (turnScored != null)
+                                        turnScored.accept(GameOfYahtzee);
+
+                                    GameOfYahtzee.displayScoreSheet(outStream);
                                 }
                         } // This is the closing curly brace for the switch statement.
 
@@ -1006,20 +1139,14 @@ public class CSC151FinalProject {
                 } // This is the closing curly brace for the if-statement.
 
             } while (!GameOfYahtzee.isGameExit() && !GameOfYahtzee.isGameComplete());
+    }
 
-            //display score sheet with method
-            GameOfYahtzee.displayScoreSheet();
+    // Moves input to the next line of player input, timed as input wait
+    static void readLine(CommandReader input) {
 
-            // New instance of File set to file constant
-            File outputFile = new File(OUTPUT_FILE_NAME);
-       
-            try {
-                PrintStream outputStream = new PrintStream(outputFile);
-                GameOfYahtzee.displayScoreSheet(outputStream);
-            } catch (Exception ex) {
-                // Prints File constant plus the name
-                System.out.println(OUTPUT_FILE_ERROR_MESSAGE + outputFile.getName());
-                ex.printStackTrace();
-            }
-        }
+        long startNanos = GameMetrics.start(GameMetrics.INPUT_WAIT);
+
+        input.nextLine();
+        GameMetrics.stop(GameMetrics.INPUT_WAIT, startNanos);
     }
+}
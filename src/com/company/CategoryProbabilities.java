@@ -0,0 +1,199 @@
+package com.company;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Exact chance of scoring in each category (more than zero, by the same score table calculateTurnScore uses)
+// when the player keeps some dice and then plays every remaining roll to make that one category.
+//
+// Built back from the final hands through the keep to hand transitions of DiceHands: a keep with r rolls left is
+// worth the average over its outcomes of the hand with r - 1 left, and a hand is worth its best keep. Categories
+// are independent, so they are built in parallel. A query is a table lookup; the 14 categories of a keep are
+// stored next to each other.
+final class CategoryProbabilities {
+
+    // Constants
+    final static int NUMBER_OF_CATEGORIES = Yahtzee.NUMBER_OF_CATEGORIES;
+
+    // Properties
+    private static volatile CategoryProbabilities standard;
+
+    private final int maxNumberRolls;
+
+    // Indexed by ((rollsLeft - 1) * NUMBER_OF_KEEPS + keep) * NUMBER_OF_CATEGORIES + category, rollsLeft 1 to max
+    private final double[] keepTable;
+
+    // Indexed by (rollsLeft * NUMBER_OF_HANDS + hand) * NUMBER_OF_CATEGORIES + category, rollsLeft 0 to max - 1
+    private final double[] handTable;
+
+    // Constructor
+    CategoryProbabilities(Yahtzee rules) {
+        this(rules, ForkJoinPool.commonPool());
+    }
+
+    CategoryProbabilities(Yahtzee rules, ForkJoinPool pool) {
+
+        maxNumberRolls = rules.getMaxNumberRolls();
+        keepTable = new double[maxNumberRolls * DiceHands.NUMBER_OF_KEEPS * NUMBER_OF_CATEGORIES];
+        handTable = new double[maxNumberRolls * DiceHands.NUMBER_OF_HANDS * NUMBER_OF_CATEGORIES];
+
+        pool.invoke(new CategoryTask(rules.getScoreTable(), 0, NUMBER_OF_CATEGORIES));
+    }
+
+    // Setters and getters
+    public int getMaxNumberRolls() {
+        return maxNumberRolls;
+    }
+
+    // Methods
+    // Shared tables for the default rules, built the first time they are needed
+    public static CategoryProbabilities getStandard() {
+
+        CategoryProbabilities probabilities = standard;
+
+        if (probabilities == null) {
+            probabilities = new CategoryProbabilities(new Yahtzee());
+            standard = probabilities;
+        }
+
+        return probabilities;
+    }
+
+    // Shared tables when the rules score and roll like the default rules, otherwise new tables
+    public static CategoryProbabilities forRules(Yahtzee rules) {
+
+        if (rules.getScoreTable() == YahtzeeRules.DEFAULT.getScoreTable() &&
+                rules.getMaxNumberRolls() == YahtzeeRules.DEFAULT_MAX_NUMBER_ROLLS)
+            return getStandard();
+
+        return new CategoryProbabilities(rules);
+    }
+
+    // Chance of scoring in category (0-13) after keeping the dice of keep, with 1 to max rolls left
+    public double getKeepProbability(int keep, int rollsLeft, int category) {
+        return keepTable[((rollsLeft - 1) * DiceHands.NUMBER_OF_KEEPS + keep) * NUMBER_OF_CATEGORIES + category];
+    }
+
+    // Chance of scoring in category (0-13) holding hand, with 0 to max - 1 rolls left
+    public double getHandProbability(int hand, int rollsLeft, int category) {
+        return handTable[(rollsLeft * DiceHands.NUMBER_OF_HANDS + hand) * NUMBER_OF_CATEGORIES + category];
+    }
+
+    // Fills probabilities with the chance of every category after keeping the dice of keep
+    public void keepProbabilities(int keep, int rollsLeft, double[] probabilities) {
+        System.arraycopy(keepTable, ((rollsLeft - 1) * DiceHands.NUMBER_OF_KEEPS + keep) * NUMBER_OF_CATEGORIES,
+                probabilities, 0, NUMBER_OF_CATEGORIES);
+    }
+
+    public void handProbabilities(int hand, int rollsLeft, double[] probabilities) {
+        System.arraycopy(handTable, (rollsLeft * DiceHands.NUMBER_OF_HANDS + hand) * NUMBER_OF_CATEGORIES,
+                probabilities, 0, NUMBER_OF_CATEGORIES);
+    }
+
+    // Chance of every category if the player holds holdMask (bit 0 = die #1) of the game's current dice now.
+    // Before the first roll of a turn nothing is held; once the rolls are used up the dice are final.
+    public void holdProbabilities(Yahtzee game, int holdMask, double[] probabilities) {
+
+        int rollsLeft = Math.min(game.getMaxNumberRolls() - game.getNumberOfRolls(), maxNumberRolls);
+
+        if (game.getNumberOfRolls() == 0)
+            keepProbabilities(DiceHands.EMPTY_KEEP, maxNumberRolls, probabilities);
+        else if (rollsLeft <= 0 || game.isTurnOver() || (holdMask & Yahtzee.ALL_DICE_HELD) == Yahtzee.ALL_DICE_HELD)
+            handProbabilities(game.getHandIndex(), 0, probabilities);
+        else
+            keepProbabilities(DiceHands.keepIndexOfRoll(game.getRollCode(), holdMask), rollsLeft, probabilities);
+    }
+
+    private void buildCategory(int[] scoreTable, int category) {
+
+        for (int hand = 0; hand < DiceHands.NUMBER_OF_HANDS; hand++)
+            handTable[hand * NUMBER_OF_CATEGORIES + category] =
+                    (scoreTable[hand * Yahtzee.NUMBER_OF_CATEGORIES + category] > 0) ? 1 : 0;
+
+        for (int rollsLeft = 1; rollsLeft <= maxNumberRolls; rollsLeft++) {
+            int handOffset = (rollsLeft - 1) * DiceHands.NUMBER_OF_HANDS;
+            int keepOffset = (rollsLeft - 1) * DiceHands.NUMBER_OF_KEEPS;
+
+            for (int keep = 0; keep < DiceHands.NUMBER_OF_KEEPS; keep++) {
+                double probability = 0;
+
+                for (int i = DiceHands.KEEP_OUTCOME_START[keep]; i < DiceHands.KEEP_OUTCOME_START[keep + 1]; i++)
+                    probability += DiceHands.KEEP_OUTCOME_PROBABILITY[i] *
+                            handTable[(handOffset + DiceHands.KEEP_OUTCOME_HAND[i]) * NUMBER_OF_CATEGORIES + category];
+
+                keepTable[(keepOffset + keep) * NUMBER_OF_CATEGORIES + category] = probability;
+            }
+
+            if (rollsLeft == maxNumberRolls)
+                break;
+
+            int nextHandOffset = rollsLeft * DiceHands.NUMBER_OF_HANDS;
+
+            for (int hand = 0; hand < DiceHands.NUMBER_OF_HANDS; hand++) {
+                double best = 0;
+
+                for (int i = DiceHands.HAND_KEEP_START[hand]; i < DiceHands.HAND_KEEP_START[hand + 1]; i++)
+                    best = Math.max(best, keepTable[(keepOffset + DiceHands.HAND_KEEPS[i]) * NUMBER_OF_CATEGORIES +
+                            category]);
+
+                handTable[(nextHandOffset + hand) * NUMBER_OF_CATEGORIES + category] = best;
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class CategoryTask extends RecursiveAction {
+
+        private final int[] scoreTable;
+        private final int from;
+        private final int to;
+
+        CategoryTask(int[] scoreTable, int from, int to) {
+            this.scoreTable = scoreTable;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from == 1)
+                buildCategory(scoreTable, from);
+            else {
+                int middle = (from + to) >>> 1;
+
+                invokeAll(new CategoryTask(scoreTable, from, middle), new CategoryTask(scoreTable, middle, to));
+            }
+        }
+    }
+
+    // Usage: CategoryProbabilities [dice held, e.g. 665] [rolls left]
+    public static void main(String[] args) {
+
+        long startTime = System.nanoTime();
+        CategoryProbabilities probabilities = getStandard();
+        double buildMillis = (System.nanoTime() - startTime) / 1e6;
+
+        int[] held = new int[(args.length > 0) ? args[0].length() : 0];
+
+        for (int i = 0; i < held.length; i++)
+            held[i] = args[0].charAt(i) - '0';
+
+        int rollsLeft = (args.length > 1) ? Integer.parseInt(args[1]) : probabilities.getMaxNumberRolls();
+        int keep = DiceHands.KEY_TO_KEEP[DiceHands.faceCountKey(held)];
+        double[] categories = new double[NUMBER_OF_CATEGORIES];
+
+        if (keep < 0 || rollsLeft < 1 || rollsLeft > probabilities.getMaxNumberRolls())
+            throw new IllegalArgumentException("Hold at most " + Yahtzee.NUMBER_OF_DICE + " dice (1-6) with 1 to " +
+                    probabilities.getMaxNumberRolls() + " rolls left");
+
+        probabilities.keepProbabilities(keep, rollsLeft, categories);
+
+        System.out.printf("Tables built in %.1f ms; keeping %s with %d rolls left:%n", buildMillis,
+                (held.length == 0) ? "nothing" : args[0], rollsLeft);
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME; i++)
+            System.out.printf("%2d. %-16s %.6f%n", i + 1, GameRenderer.CATEGORY_LABELS[i], categories[i]);
+    }
+
+}
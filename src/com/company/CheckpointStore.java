@@ -0,0 +1,250 @@
+package com.company;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+
+// Sessions in progress checkpointed to one memory-mapped file, one GameArena slot per session, so a restarted
+// server resumes them from their last scored turn without replaying anything.
+//
+// Header: magic, version, slot size, capacity, the seed sessions roll from and the next session number.
+// Slots:  packed scores, packed state, dice source position and session number, or FREE_GAME_NUMBER.
+// Tokens: after the slots, the random token of each slot's session. Resuming takes the session number and its
+//         token, so a player cannot take over another's game by guessing its number.
+//
+// A checkpoint overwrites the session's slot in place; opening the file scans the session numbers only, into a
+// primitive hash table of slots, so tens of thousands of sessions are ready to resume within milliseconds.
+// Slot allocation takes the lock, while saving a claimed slot does not, as sessions never share a slot.
+final class CheckpointStore implements AutoCloseable {
+
+    // Constants
+    final static int MAGIC = 0x59544350;
+    final static int VERSION = 3;
+    final static int HEADER_SIZE = 64;
+    final static int DEFAULT_CAPACITY = 1 << 16;
+    final static int TOKEN_SIZE = 8;
+
+    // The tokens are mapped as one buffer
+    final static int MAX_CAPACITY = Integer.MAX_VALUE / TOKEN_SIZE;
+
+    private final static int SLOT_SIZE_OFFSET = 8;
+    private final static int CAPACITY_OFFSET = 12;
+    private final static int SEED_OFFSET = 16;
+    private final static int NEXT_SESSION_OFFSET = 24;
+
+    // Properties
+    private final MappedByteBuffer header;
+    private final GameArena arena;
+    private final MappedByteBuffer tokens;
+    private final SecureRandom random = new SecureRandom();
+    private final int capacity;
+    private final long openNanos;
+
+    // Slot + 1 of every session waiting to be resumed, linearly probed from the hash of its session number, which
+    // the slot itself holds; 0 is empty. A session being played is not listed.
+    private final int[] resumable;
+    private final int tableMask;
+    private int resumableCount;
+
+    private final int[] freeSlots;
+    private int freeCount;
+
+    // Constructor
+    CheckpointStore(Path path, long seed) throws IOException {
+        this(path, DEFAULT_CAPACITY, seed);
+    }
+
+    // Opens the store at path, creating it with capacity slots and seed when it does not exist
+    CheckpointStore(Path path, int capacity, long seed) throws IOException {
+
+        long startTime = System.nanoTime();
+        boolean exists = Files.exists(path);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (exists) {
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION ||
+                        header.getInt(SLOT_SIZE_OFFSET) != GameArena.SLOT_SIZE)
+                    throw new IOException("Not a checkpoint file: " + path);
+
+                capacity = header.getInt(CAPACITY_OFFSET);
+            }
+
+            if (capacity < 1 || capacity > MAX_CAPACITY)
+                throw new IllegalArgumentException("A checkpoint file holds 1 to " + MAX_CAPACITY + " slots");
+
+            this.capacity = capacity;
+            this.arena = GameArena.map(channel, HEADER_SIZE, capacity, YahtzeeRules.DEFAULT);
+            this.tokens = channel.map(FileChannel.MapMode.READ_WRITE,
+                    HEADER_SIZE + (long) capacity * GameArena.SLOT_SIZE, (long) capacity * TOKEN_SIZE);
+            tokens.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        if (!exists) {
+            for (int slot = 0; slot < capacity; slot++)
+                arena.free(slot);
+
+            header.putInt(SLOT_SIZE_OFFSET, GameArena.SLOT_SIZE).putInt(CAPACITY_OFFSET, capacity)
+                    .putLong(SEED_OFFSET, seed).putLong(NEXT_SESSION_OFFSET, 0);
+
+            // Written last, so a file cut short while being created is not mistaken for a checkpoint file
+            header.putInt(0, MAGIC).putInt(4, VERSION);
+        }
+
+        this.resumable = new int[Integer.highestOneBit(capacity) << 2];
+        this.tableMask = resumable.length - 1;
+        this.freeSlots = new int[capacity];
+
+        // Highest slots first, so new sessions fill the file from the front
+        for (int slot = capacity - 1; slot >= 0; slot--) {
+            if (arena.isFree(slot))
+                freeSlots[freeCount++] = slot;
+            else
+                insert(slot);
+        }
+
+        this.openNanos = System.nanoTime() - startTime;
+    }
+
+    // Setters and getters
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getSeed() {
+        return header.getLong(SEED_OFFSET);
+    }
+
+    // Session numbers below this may be checkpointed; new sessions take numbers from here up
+    public synchronized long getNextSessionNumber() {
+        return header.getLong(NEXT_SESSION_OFFSET);
+    }
+
+    public synchronized int getResumableSessions() {
+        return resumableCount;
+    }
+
+    public synchronized int getFreeSlots() {
+        return freeCount;
+    }
+
+    public long getOpenNanos() {
+        return openNanos;
+    }
+
+    // The token that resumes the session checkpointed in slot
+    public long getToken(int slot) {
+        return tokens.getLong(slot * TOKEN_SIZE);
+    }
+
+    // Methods
+    // Checkpoints a new session at its start under a new random token; returns its slot, or -1 when every slot is
+    // taken
+    public synchronized int create(Yahtzee game, long sessionNumber) {
+
+        if (freeCount == 0)
+            return -1;
+
+        int slot = freeSlots[--freeCount];
+
+        arena.save(slot, game);
+        arena.setGameNumber(slot, sessionNumber);
+        tokens.putLong(slot * TOKEN_SIZE, random.nextLong() & Long.MAX_VALUE);
+
+        if (sessionNumber >= header.getLong(NEXT_SESSION_OFFSET))
+            header.putLong(NEXT_SESSION_OFFSET, sessionNumber + 1);
+
+        return slot;
+    }
+
+    // Takes a checkpointed session for play, loading it into game; returns its slot, or -1 when the session is
+    // not waiting to be resumed or token is not its token
+    public synchronized int resume(long sessionNumber, long token, Yahtzee game) {
+
+        for (int i = home(sessionNumber); resumable[i] != 0; i = (i + 1) & tableMask) {
+            int slot = resumable[i] - 1;
+
+            if (arena.getGameNumber(slot) == sessionNumber) {
+                if (getToken(slot) != token)
+                    return -1;
+
+                remove(i);
+                arena.load(slot, game);
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    // Overwrites the checkpoint in slot; only the session holding slot may save to it
+    public void save(int slot, Yahtzee game) {
+        arena.save(slot, game);
+    }
+
+    // Hands slot back for resuming later, as when the player disconnects in the middle of the game
+    public synchronized void suspend(int slot) {
+        insert(slot);
+    }
+
+    // Frees slot once its game is over, complete or exited
+    public synchronized void release(int slot) {
+        arena.free(slot);
+        tokens.putLong(slot * TOKEN_SIZE, 0);
+        freeSlots[freeCount++] = slot;
+    }
+
+    // Writes the checkpoints through to the disk; without it they survive a server crash but not a machine crash
+    public void force() {
+        arena.force();
+        tokens.force();
+        header.force();
+    }
+
+    private int home(long sessionNumber) {
+        return (int) SplitMixDiceSource.mix64(sessionNumber) & tableMask;
+    }
+
+    private void insert(int slot) {
+
+        int i = home(arena.getGameNumber(slot));
+
+        while (resumable[i] != 0)
+            i = (i + 1) & tableMask;
+
+        resumable[i] = slot + 1;
+        resumableCount++;
+    }
+
+    // Shifts later entries of the probe run back over the removed one, so every lookup still reaches its entry
+    private void remove(int hole) {
+
+        resumableCount--;
+
+        for (int i = (hole + 1) & tableMask; resumable[i] != 0; i = (i + 1) & tableMask) {
+            int home = home(arena.getGameNumber(resumable[i] - 1));
+
+            // The entry can fill the hole unless its home lies cyclically after the hole, up to i
+            if (((i - home) & tableMask) >= ((i - hole) & tableMask)) {
+                resumable[hole] = resumable[i];
+                hole = i;
+            }
+        }
+
+        resumable[hole] = 0;
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+}
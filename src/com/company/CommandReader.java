@@ -0,0 +1,355 @@
+package com.company;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// Reads player commands a line at a time straight from a byte stream: the console, a GameServer session, or a
+// script file or pipe holding millions of commands.
+//
+// Lines end where Scanner.nextLine ends them (\n, \r\n, \r, U+0085, U+2028, U+2029) and are kept as UTF-8 bytes in
+// a reused buffer. The parsers work on those bytes in place, so reading and parsing a command allocates nothing.
+// They accept exactly what the prompts accepted when each line was trimmed, upper-cased and checked as a String.
+// Like Scanner, a read error ends the input; it is kept for ioException().
+final class CommandReader implements Closeable {
+
+    // Constants
+    final static int DEFAULT_BUFFER_SIZE = 1 << 16;
+    final static int SESSION_BUFFER_SIZE = 512;
+
+    // Parse results that are not a hold mask or a category number
+    final static int COMMAND_EXIT = -1;
+    final static int COMMAND_SCORE_CARD = -2;
+    final static int COMMAND_DISPLAY_DICE = -3;
+    final static int COMMAND_END_TURN = -4;
+    final static int COMMAND_INVALID = -5;
+
+    // Upper-cases to "S" along with s, like the String prompts did
+    private final static int LATIN_SMALL_LONG_S = 0x17F;
+
+    private final static int REPLACEMENT_CHARACTER = 0xFFFD;
+
+    // Properties
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private IOException ioException;
+
+    // A line that ended with \r owns a \n that follows it
+    private boolean skipLineFeed;
+
+    private byte[] line = new byte[128];
+    private int lineLength;
+    private long lines;
+
+    // Trimmed bounds of the line, set by trim()
+    private int start;
+    private int end;
+
+    // Bytes taken by the code point decoded by codePointAt
+    private int codePointBytes;
+
+    private int invalidCharacters;
+
+    // Constructor
+    CommandReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    CommandReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+
+    // Setters and getters
+    public long getLines() {
+        return lines;
+    }
+
+    // Characters the last parseCategory found that are not digits; the prompt shows one error for each
+    public int getInvalidCharacters() {
+        return invalidCharacters;
+    }
+
+    public IOException ioException() {
+        return ioException;
+    }
+
+    // Methods
+    // Moves to the next line; throws NoSuchElementException when the input has ended, as Scanner.nextLine does
+    public void nextLine() {
+
+        if (!readLine())
+            throw new NoSuchElementException("No line found");
+
+        lines++;
+    }
+
+    public boolean hasNextLine() {
+
+        if (skipLineFeed && (position < limit || fill()) && buffer[position] == '\n') {
+            position++;
+            skipLineFeed = false;
+        }
+
+        return position < limit || fill();
+    }
+
+    // Reroll prompt: X, S, D, 0, or the dice to reroll as digits 1-5 each at most once, spaces allowed.
+    // Returns a COMMAND_ constant or the hold mask (bit 0 = die #1) that keeps every die not listed.
+    public int parseReroll() {
+
+        trim();
+
+        if (start == end)
+            return COMMAND_INVALID;
+
+        int command = parseSingleCommand(true);
+
+        if (command != COMMAND_INVALID)
+            return command;
+
+        int holdMask = Yahtzee.ALL_DICE_HELD;
+        int listed = 0;
+
+        for (int i = start; i < end; i += codePointBytes) {
+            int codePoint = codePointAt(i);
+
+            if (codePoint == ' ')
+                continue;
+
+            if (codePoint < '1' || codePoint >= '1' + Yahtzee.NUMBER_OF_DICE)
+                return COMMAND_INVALID;
+
+            int die = 1 << (codePoint - '1');
+
+            if ((listed & die) != 0)
+                return COMMAND_INVALID;
+
+            listed |= die;
+            holdMask &= ~die;
+        }
+
+        return holdMask;
+    }
+
+    // Category prompt: X, S, D or a category number of decimal digits. Returns a COMMAND_ constant or the number,
+    // capped at Integer.MAX_VALUE; anything else is COMMAND_INVALID with getInvalidCharacters set.
+    public int parseCategory() {
+
+        trim();
+        invalidCharacters = 0;
+
+        if (start == end)
+            return COMMAND_INVALID;
+
+        int command = parseSingleCommand(false);
+
+        if (command != COMMAND_INVALID)
+            return command;
+
+        long number = 0;
+
+        for (int i = start; i < end; i += codePointBytes) {
+            int codePoint = codePointAt(i);
+
+            // A character outside the BMP is two chars, and neither half is a digit
+            if (codePoint > Character.MAX_VALUE)
+                invalidCharacters += 2;
+            else if (!Character.isDigit(codePoint))
+                invalidCharacters++;
+            else
+                number = Math.min(number * 10 + Character.digit(codePoint, 10), Integer.MAX_VALUE);
+        }
+
+        return (invalidCharacters > 0) ? COMMAND_INVALID : (int) number;
+    }
+
+    // Resume prompt: numbers of ASCII digits separated by spaces, each at most Long.MAX_VALUE. Fills numbers and
+    // returns how many the line held, 0 for an empty line; anything else, or more than fit, is COMMAND_INVALID.
+    public int parseNumbers(long[] numbers) {
+
+        trim();
+
+        int count = 0;
+
+        for (int i = start; i < end; ) {
+            if (line[i] == ' ') {
+                i++;
+                continue;
+            }
+
+            if (count == numbers.length)
+                return COMMAND_INVALID;
+
+            long number = 0;
+
+            for (; i < end && line[i] != ' '; i++) {
+                int digit = line[i] - '0';
+
+                if (digit < 0 || digit > 9 || number > (Long.MAX_VALUE - digit) / 10)
+                    return COMMAND_INVALID;
+
+                number = number * 10 + digit;
+            }
+
+            numbers[count++] = number;
+        }
+
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // One character that upper-cases to X, S, D or (on the reroll prompt) 0
+    private int parseSingleCommand(boolean reroll) {
+
+        int codePoint = codePointAt(start);
+
+        if (start + codePointBytes != end)
+            return COMMAND_INVALID;
+
+        switch (codePoint) {
+            case 'x':
+            case 'X':
+                return COMMAND_EXIT;
+            case 's':
+            case 'S':
+            case LATIN_SMALL_LONG_S:
+                return COMMAND_SCORE_CARD;
+            case 'd':
+            case 'D':
+                return COMMAND_DISPLAY_DICE;
+            case '0':
+                return reroll ? COMMAND_END_TURN : COMMAND_INVALID;
+            default:
+                return COMMAND_INVALID;
+        }
+    }
+
+    // Same bounds as String.trim: every code unit up to a space is dropped from both ends
+    private void trim() {
+
+        start = 0;
+        end = lineLength;
+
+        while (start < end && (line[start] & 0xFF) <= ' ')
+            start++;
+
+        while (end > start && (line[end - 1] & 0xFF) <= ' ')
+            end--;
+    }
+
+    // Decodes the UTF-8 code point at index; a malformed byte decodes to U+FFFD on its own
+    private int codePointAt(int index) {
+
+        int b = line[index] & 0xFF;
+        int length = (b < 0x80) ? 1 : (b >= 0xC2 && b < 0xE0) ? 2 : (b >= 0xE0 && b < 0xF0) ? 3 :
+                (b >= 0xF0 && b < 0xF5) ? 4 : 0;
+
+        if (length == 1 || length == 0 || index + length > end) {
+            codePointBytes = 1;
+            return (length == 1) ? b : REPLACEMENT_CHARACTER;
+        }
+
+        int codePoint = b & (0x7F >> length);
+
+        for (int i = 1; i < length; i++) {
+            int next = line[index + i] & 0xFF;
+
+            if ((next & 0xC0) != 0x80) {
+                codePointBytes = 1;
+                return REPLACEMENT_CHARACTER;
+            }
+
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+
+        codePointBytes = length;
+
+        return codePoint;
+    }
+
+    private boolean readLine() {
+
+        boolean found = false;
+
+        lineLength = 0;
+
+        while (position < limit || fill()) {
+            byte b = buffer[position++];
+
+            if (skipLineFeed) {
+                skipLineFeed = false;
+
+                if (b == '\n')
+                    continue;
+            }
+
+            if (b == '\n')
+                return true;
+
+            if (b == '\r') {
+                skipLineFeed = true;
+                return true;
+            }
+
+            if (lineLength == line.length)
+                line = Arrays.copyOf(line, line.length * 2);
+
+            line[lineLength++] = b;
+            found = true;
+
+            // U+0085 is C2 85 and U+2028 / U+2029 are E2 80 A8 / A9; C2 and E2 only ever start a character
+            if (b == (byte) 0x85 && lineLength >= 2 && line[lineLength - 2] == (byte) 0xC2) {
+                lineLength -= 2;
+                return true;
+            }
+
+            if ((b == (byte) 0xA8 || b == (byte) 0xA9) && lineLength >= 3 && line[lineLength - 3] == (byte) 0xE2 &&
+                    line[lineLength - 2] == (byte) 0x80) {
+                lineLength -= 3;
+                return true;
+            }
+        }
+
+        return found;
+    }
+
+    private boolean fill() {
+
+        if (endOfInput)
+            return false;
+
+        try {
+            int count;
+
+            do {
+                count = in.read(buffer);
+            } while (count == 0);
+
+            if (count < 0) {
+                endOfInput = true;
+                return false;
+            }
+
+            position = 0;
+            limit = count;
+
+            return true;
+        } catch (IOException ex) {
+            ioException = ex;
+            endOfInput = true;
+
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.company;
+
+interface DecisionPolicy {
+
+    // Dice to hold before the next reroll (bit 0 = die #1); holding all dice ends the rolling
+    int chooseHoldMask(Yahtzee game);
+
+    // Category to score (1-14); must be allowed according to getAllowedCategories
+    int chooseCategory(Yahtzee game);
+
+}
@@ -0,0 +1,227 @@
+package com.company;
+
+import java.util.Arrays;
+
+final class DiceHands {
+
+    // Constants
+    final static int NUMBER_OF_HANDS = 252;
+    final static int NUMBER_OF_ROLLS = 7776;
+    final static int NUMBER_OF_KEYS = 46656;
+    final static int NUMBER_OF_KEEPS = 462;
+    final static int EMPTY_KEEP = 0;
+
+    // Sorted dice of every distinct hand, in ascending order of hand index
+    final static int[][] HAND_DICE = new int[NUMBER_OF_HANDS][Yahtzee.NUMBER_OF_DICE];
+
+    // Hand index of every ordered roll, indexed by roll code (base 6, die #1 lowest digit)
+    final static short[] ROLL_TO_HAND = new short[NUMBER_OF_ROLLS];
+
+    // Dice held by every distinct keep (0 to 5 dice), in ascending order of keep index
+    final static int[][] KEEP_DICE = new int[NUMBER_OF_KEEPS][];
+
+    // Keep index of every face-count key, or -1 when the key is not a valid keep
+    final static short[] KEY_TO_KEEP = new short[NUMBER_OF_KEYS];
+
+    // Keep index of the keep that holds all five dice of each hand
+    final static short[] HAND_TO_KEEP = new short[NUMBER_OF_HANDS];
+
+    // Hands reachable by rerolling the dice not held by each keep, with their probabilities.
+    // Outcomes of keep k are stored from KEEP_OUTCOME_START[k] up to KEEP_OUTCOME_START[k + 1].
+    final static int[] KEEP_OUTCOME_START = new int[NUMBER_OF_KEEPS + 1];
+    final static short[] KEEP_OUTCOME_HAND;
+    final static double[] KEEP_OUTCOME_PROBABILITY;
+
+    // Distinct keeps that can be chosen from each hand (every subset of its dice).
+    // Keeps of hand h are stored from HAND_KEEP_START[h] up to HAND_KEEP_START[h + 1].
+    final static int[] HAND_KEEP_START = new int[NUMBER_OF_HANDS + 1];
+    final static short[] HAND_KEEPS;
+
+    // Weight of each die number in a face-count key (count of number n is digit n-1 in base 6)
+    private final static int[] KEY_WEIGHT = {0, 1, 6, 36, 216, 1296, 7776};
+
+    static {
+        short[] keyToHand = new short[NUMBER_OF_KEYS];
+        int hand = 0;
+
+        for (int a = 1; a <= Yahtzee.MAX_NUMBER_ON_DIE; a++)
+            for (int b = a; b <= Yahtzee.MAX_NUMBER_ON_DIE; b++)
+                for (int c = b; c <= Yahtzee.MAX_NUMBER_ON_DIE; c++)
+                    for (int d = c; d <= Yahtzee.MAX_NUMBER_ON_DIE; d++)
+                        for (int e = d; e <= Yahtzee.MAX_NUMBER_ON_DIE; e++) {
+                            HAND_DICE[hand] = new int[] {a, b, c, d, e};
+                            keyToHand[faceCountKey(HAND_DICE[hand])] = (short) hand;
+                            hand++;
+                        }
+
+        int[] roll = new int[Yahtzee.NUMBER_OF_DICE];
+
+        for (int rollCode = 0; rollCode < NUMBER_OF_ROLLS; rollCode++) {
+            decodeRoll(rollCode, roll);
+            ROLL_TO_HAND[rollCode] = keyToHand[faceCountKey(roll)];
+        }
+
+        Arrays.fill(KEY_TO_KEEP, (short) -1);
+        int keep = 0;
+
+        for (int size = 0; size <= Yahtzee.NUMBER_OF_DICE; size++)
+            keep = addKeeps(new int[size], 0, 1, keep);
+
+        for (int i = 0; i < NUMBER_OF_HANDS; i++)
+            HAND_TO_KEEP[i] = KEY_TO_KEEP[faceCountKey(HAND_DICE[i])];
+
+        short[] outcomeHand = new short[4368];
+        double[] outcomeProbability = new double[4368];
+        int outcome = 0;
+
+        for (int k = 0; k < NUMBER_OF_KEEPS; k++) {
+            int combinations = 1;
+            int[] hits = new int[NUMBER_OF_HANDS];
+            int[] outcomeDice = new int[Yahtzee.NUMBER_OF_DICE];
+
+            for (int i = KEEP_DICE[k].length; i < Yahtzee.NUMBER_OF_DICE; i++)
+                combinations *= Yahtzee.MAX_NUMBER_ON_DIE;
+
+            System.arraycopy(KEEP_DICE[k], 0, outcomeDice, 0, KEEP_DICE[k].length);
+
+            for (int rollCode = 0; rollCode < combinations; rollCode++) {
+                int code = rollCode;
+
+                for (int i = KEEP_DICE[k].length; i < Yahtzee.NUMBER_OF_DICE; i++) {
+                    outcomeDice[i] = code % Yahtzee.MAX_NUMBER_ON_DIE + 1;
+                    code /= Yahtzee.MAX_NUMBER_ON_DIE;
+                }
+
+                hits[ROLL_TO_HAND[rollCode(outcomeDice)]]++;
+            }
+
+            KEEP_OUTCOME_START[k] = outcome;
+
+            for (int i = 0; i < NUMBER_OF_HANDS; i++)
+                if (hits[i] > 0) {
+                    outcomeHand[outcome] = (short) i;
+                    outcomeProbability[outcome] = (double) hits[i] / combinations;
+                    outcome++;
+                }
+        }
+
+        KEEP_OUTCOME_START[NUMBER_OF_KEEPS] = outcome;
+        KEEP_OUTCOME_HAND = outcomeHand;
+        KEEP_OUTCOME_PROBABILITY = outcomeProbability;
+
+        short[] handKeeps = new short[NUMBER_OF_HANDS * (1 << Yahtzee.NUMBER_OF_DICE)];
+        int handKeep = 0;
+
+        for (int h = 0; h < NUMBER_OF_HANDS; h++) {
+            HAND_KEEP_START[h] = handKeep;
+
+            for (int holdMask = 0; holdMask < (1 << Yahtzee.NUMBER_OF_DICE); holdMask++) {
+                short k = KEY_TO_KEEP[heldKey(HAND_DICE[h], holdMask)];
+                boolean seen = false;
+
+                for (int i = HAND_KEEP_START[h]; i < handKeep; i++)
+                    if (handKeeps[i] == k)
+                        seen = true;
+
+                if (!seen)
+                    handKeeps[handKeep++] = k;
+            }
+        }
+
+        HAND_KEEP_START[NUMBER_OF_HANDS] = handKeep;
+        HAND_KEEPS = Arrays.copyOf(handKeeps, handKeep);
+    }
+
+    private DiceHands() {
+    }
+
+    // Methods
+    public static int rollCode(int[] dice) {
+
+        int rollCode = 0;
+
+        for (int i = dice.length - 1; i >= 0; i--)
+            rollCode = rollCode * Yahtzee.MAX_NUMBER_ON_DIE + dice[i] - 1;
+
+        return rollCode;
+    }
+
+    public static void decodeRoll(int rollCode, int[] dice) {
+
+        for (int i = 0; i < dice.length; i++) {
+            dice[i] = rollCode % Yahtzee.MAX_NUMBER_ON_DIE + 1;
+            rollCode /= Yahtzee.MAX_NUMBER_ON_DIE;
+        }
+    }
+
+    // Face-count key of the dice whose bit (die #1 lowest) is set in holdMask
+    public static int heldKey(int[] dice, int holdMask) {
+
+        int key = 0;
+
+        for (int i = 0; i < dice.length; i++)
+            if ((holdMask & (1 << i)) != 0)
+                key += KEY_WEIGHT[dice[i]];
+
+        return key;
+    }
+
+    public static int keepIndex(int[] dice, int holdMask) {
+        return KEY_TO_KEEP[heldKey(dice, holdMask)];
+    }
+
+    // Keep index of the dice held from a roll code, without decoding it into an array
+    public static int keepIndexOfRoll(int rollCode, int holdMask) {
+
+        int key = 0;
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_DICE; i++, rollCode /= Yahtzee.MAX_NUMBER_ON_DIE)
+            if ((holdMask & (1 << i)) != 0)
+                key += KEY_WEIGHT[rollCode % Yahtzee.MAX_NUMBER_ON_DIE + 1];
+
+        return KEY_TO_KEEP[key];
+    }
+
+    // Hold mask (die #1 lowest bit) that keeps exactly the dice of the keep from the given roll
+    public static int holdMask(int rollCode, int keep) {
+
+        int holdMask = 0;
+
+        for (int keptDie : KEEP_DICE[keep])
+            for (int i = 0, code = rollCode; i < Yahtzee.NUMBER_OF_DICE; i++, code /= Yahtzee.MAX_NUMBER_ON_DIE)
+                if (code % Yahtzee.MAX_NUMBER_ON_DIE + 1 == keptDie && (holdMask & (1 << i)) == 0) {
+                    holdMask |= 1 << i;
+                    break;
+                }
+
+        return holdMask;
+    }
+
+    private static int addKeeps(int[] keepDice, int position, int lowestNumber, int keep) {
+
+        if (position == keepDice.length) {
+            KEEP_DICE[keep] = keepDice.clone();
+            KEY_TO_KEEP[faceCountKey(keepDice)] = (short) keep;
+
+            return keep + 1;
+        }
+
+        for (int number = lowestNumber; number <= Yahtzee.MAX_NUMBER_ON_DIE; number++) {
+            keepDice[position] = number;
+            keep = addKeeps(keepDice, position + 1, number, keep);
+        }
+
+        return keep;
+    }
+
+    public static int faceCountKey(int[] dice) {
+
+        int key = 0;
+
+        for (int die : dice)
+            key += KEY_WEIGHT[die];
+
+        return key;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.company;
+
+interface DiceSource {
+
+    // Reseeds the stream; the same seed always produces the same rolls
+    void setSeed(long seed);
+
+    // One die, 1 to MAX_NUMBER_ON_DIE
+    int rollDie();
+
+    // Outcome of rolling numberOfDice dice in a single draw, as base-6 digits (first die lowest) in [0, 6^n)
+    int rollDice(int numberOfDice);
+
+    // Rerolls every die whose bit (die #1 lowest) is clear in holdMask using a single draw
+    default void rollDice(int[] dice, int holdMask) {
+
+        int rerolled = 0;
+
+        for (int i = 0; i < dice.length; i++)
+            if ((holdMask & (1 << i)) == 0)
+                rerolled++;
+
+        int outcome = rollDice(rerolled);
+
+        for (int i = 0; i < dice.length; i++)
+            if ((holdMask & (1 << i)) == 0) {
+                dice[i] = outcome % Yahtzee.MAX_NUMBER_ON_DIE + 1;
+                outcome /= Yahtzee.MAX_NUMBER_ON_DIE;
+            }
+    }
+
+    // Position in the stream, so a game can be stored and resumed mid-stream
+    long getState();
+
+    void setState(long state);
+
+    // Independent stream seeded from this one, for handing to another game or thread
+    DiceSource split();
+
+}
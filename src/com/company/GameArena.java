@@ -0,0 +1,292 @@
+package com.company;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+// Millions of games in progress held off the heap, one fixed-stride slot per game: packed scores, packed state,
+// dice source position and game number. The heap holds no per-game objects, so keeping games alive costs the
+// collector nothing however many there are. An arena mapped from a file keeps its games across restarts.
+//
+// Turns are played on a slot through one reused Yahtzee view, loaded from the slot and stored back, so slot games
+// follow exactly the rules of Yahtzee. An arena is not thread-safe; threads should each own an arena, or load and
+// save disjoint slots with their own views.
+final class GameArena {
+
+    // Constants
+    final static int SLOT_SIZE = 32;
+    final static int SCORES_OFFSET = 0;
+    final static int STATE_OFFSET = 8;
+    final static int DICE_STATE_OFFSET = 16;
+    final static int GAME_NUMBER_OFFSET = 24;
+
+    // Game number of a slot that holds no game
+    final static long FREE_GAME_NUMBER = -1;
+
+    // Slots are split across direct buffers of 32 MB, as one buffer holds at most 2 GB
+    final static int CHUNK_SHIFT = 20;
+    final static int SLOTS_PER_CHUNK = 1 << CHUNK_SHIFT;
+    final static int CHUNK_MASK = SLOTS_PER_CHUNK - 1;
+
+    // Properties
+    private final int capacity;
+    private final ByteBuffer[] chunks;
+    private final Yahtzee view;
+
+    // Constructor
+    GameArena(int capacity) {
+        this(capacity, YahtzeeRules.DEFAULT);
+    }
+
+    GameArena(int capacity, YahtzeeRules rules) {
+        this(capacity, allocate(capacity), rules);
+    }
+
+    private GameArena(int capacity, ByteBuffer[] chunks, YahtzeeRules rules) {
+        this.capacity = capacity;
+        this.chunks = chunks;
+        this.view = new Yahtzee(0);
+        this.view.setRules(rules);
+    }
+
+    // Maps capacity slots of channel starting at position; slot contents are whatever the file holds there.
+    // Files are little-endian whatever the machine, like the leaderboard's.
+    static GameArena map(FileChannel channel, long position, int capacity, YahtzeeRules rules) throws IOException {
+
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(capacity)];
+
+        for (int i = 0; i < chunks.length; i++)
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, position + ((long) i << CHUNK_SHIFT) * SLOT_SIZE,
+                    (long) chunkSlots(capacity, i) * SLOT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        return new GameArena(capacity, chunks, rules);
+    }
+
+    private static ByteBuffer[] allocate(int capacity) {
+
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount(capacity)];
+
+        for (int i = 0; i < chunks.length; i++) {
+            int slots = chunkSlots(capacity, i);
+
+            chunks[i] = ByteBuffer.allocateDirect(slots * SLOT_SIZE).order(ByteOrder.nativeOrder());
+
+            for (int slot = 0; slot < slots; slot++)
+                chunks[i].putLong(slot * SLOT_SIZE + GAME_NUMBER_OFFSET, FREE_GAME_NUMBER);
+        }
+
+        return chunks;
+    }
+
+    private static int chunkCount(int capacity) {
+
+        if (capacity < 1)
+            throw new IllegalArgumentException("An arena needs at least one slot");
+
+        return (capacity + SLOTS_PER_CHUNK - 1) >>> CHUNK_SHIFT;
+    }
+
+    private static int chunkSlots(int capacity, int chunk) {
+        return Math.min(SLOTS_PER_CHUNK, capacity - (chunk << CHUNK_SHIFT));
+    }
+
+    // Setters and getters
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public YahtzeeRules getRules() {
+        return view.getRules();
+    }
+
+    public long getPackedScores(int slot) {
+        return chunk(slot).getLong(offset(slot) + SCORES_OFFSET);
+    }
+
+    public long getPackedState(int slot) {
+        return chunk(slot).getLong(offset(slot) + STATE_OFFSET);
+    }
+
+    public long getDiceState(int slot) {
+        return chunk(slot).getLong(offset(slot) + DICE_STATE_OFFSET);
+    }
+
+    public long getGameNumber(int slot) {
+        return chunk(slot).getLong(offset(slot) + GAME_NUMBER_OFFSET);
+    }
+
+    public void setGameNumber(int slot, long gameNumber) {
+        chunk(slot).putLong(offset(slot) + GAME_NUMBER_OFFSET, gameNumber);
+    }
+
+    public boolean isFree(int slot) {
+        return getGameNumber(slot) == FREE_GAME_NUMBER;
+    }
+
+    // Methods
+    // Starts game gameNumber in slot, rolling from stream gameNumber of seed like BatchSimulator's games
+    public void newGame(int slot, long seed, long gameNumber) {
+
+        ByteBuffer chunk = chunk(slot);
+        int offset = offset(slot);
+
+        view.reset();
+        view.setSeed(SplitMixDiceSource.streamSeed(seed, gameNumber));
+        save(slot, view);
+        chunk.putLong(offset + GAME_NUMBER_OFFSET, gameNumber);
+    }
+
+    public void free(int slot) {
+        setGameNumber(slot, FREE_GAME_NUMBER);
+    }
+
+    public void load(int slot, Yahtzee game) {
+
+        ByteBuffer chunk = chunk(slot);
+        int offset = offset(slot);
+
+        game.setPackedState(chunk.getLong(offset + SCORES_OFFSET), chunk.getLong(offset + STATE_OFFSET));
+        game.getDiceSource().setState(chunk.getLong(offset + DICE_STATE_OFFSET));
+    }
+
+    public void save(int slot, Yahtzee game) {
+
+        ByteBuffer chunk = chunk(slot);
+        int offset = offset(slot);
+
+        chunk.putLong(offset + SCORES_OFFSET, game.getPackedScores());
+        chunk.putLong(offset + STATE_OFFSET, game.getPackedState());
+        chunk.putLong(offset + DICE_STATE_OFFSET, game.getDiceSource().getState());
+    }
+
+    public int roll(int slot) {
+        load(slot, view);
+        return store(slot, view.roll());
+    }
+
+    public int hold(int slot, int holdMask) {
+        load(slot, view);
+        return store(slot, view.hold(holdMask));
+    }
+
+    public int score(int slot, int scoreOption) {
+        load(slot, view);
+        return store(slot, view.score(scoreOption));
+    }
+
+    // Plays one whole turn of the game in slot with policy; returns the event of scoring it, or EVENT_REJECTED
+    // untouched when the game cannot roll
+    public int playTurn(int slot, DecisionPolicy policy) {
+
+        load(slot, view);
+
+        int event = view.roll();
+
+        if (event == Yahtzee.EVENT_REJECTED)
+            return event;
+
+        while (!view.isTurnOver())
+            if (view.hold(policy.chooseHoldMask(view)) == Yahtzee.EVENT_REJECTED)
+                throw new IllegalStateException("Policy chose an invalid hold mask");
+
+        return store(slot, view.score(policy.chooseCategory(view)));
+    }
+
+    public boolean isGameComplete(int slot) {
+        return PackedGameState.getFlag(getPackedState(slot), PackedGameState.GAME_COMPLETE_FLAG);
+    }
+
+    public int calculateGrandTotal(int slot) {
+        load(slot, view);
+        return view.calculateGrandTotal();
+    }
+
+    // The game in slot loaded into the arena's own view, valid until the next operation on the arena
+    public Yahtzee view(int slot) {
+        load(slot, view);
+        return view;
+    }
+
+    // Writes the slots of a mapped arena through to its file; a heap-backed arena has nothing to write
+    public void force() {
+
+        for (ByteBuffer chunk : chunks)
+            if (chunk instanceof MappedByteBuffer mapped)
+                mapped.force();
+    }
+
+    private int store(int slot, int event) {
+
+        if (event != Yahtzee.EVENT_REJECTED)
+            save(slot, view);
+
+        return event;
+    }
+
+    private ByteBuffer chunk(int slot) {
+        return chunks[slot >>> CHUNK_SHIFT];
+    }
+
+    private static int offset(int slot) {
+        return (slot & CHUNK_MASK) * SLOT_SIZE;
+    }
+
+    private static long collections() {
+
+        long count = 0;
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+            count += Math.max(0, collector.getCollectionCount());
+
+        return count;
+    }
+
+    // Plays games with every slot's game advancing one turn per pass, as a server with that many open games would.
+    // Game i rolls from stream i of the seed, so the results match BatchSimulator with the same seed.
+    // Usage: GameArena [games] [slots] [seed] [greedy|optimal]
+    public static void main(String[] args) throws Exception {
+
+        long numberOfGames = (args.length > 0) ? Long.parseLong(args[0]) : 10_000_000L;
+        int slots = (int) Math.min((args.length > 1) ? Integer.parseInt(args[1]) : 1_000_000, numberOfGames);
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+        DecisionPolicy policy = BatchSimulator.policyFactory((args.length > 3) ? args[3] : "greedy").get();
+
+        GameArena arena = new GameArena(slots);
+        SimulationResult result = new SimulationResult();
+        long nextGame = 0;
+        long startCollections = collections();
+        long startTime = System.nanoTime();
+
+        for (int slot = 0; slot < slots; slot++)
+            arena.newGame(slot, seed, nextGame++);
+
+        for (int live = slots; live > 0; ) {
+            for (int slot = 0; slot < slots; slot++) {
+                if (arena.isGameComplete(slot))
+                    continue;
+
+                if (arena.playTurn(slot, policy) != Yahtzee.EVENT_GAME_OVER)
+                    continue;
+
+                result.record(arena.view(slot));
+
+                if (nextGame < numberOfGames)
+                    arena.newGame(slot, seed, nextGame++);
+                else
+                    live--;
+            }
+        }
+
+        result.setElapsedNanos(System.nanoTime() - startTime);
+
+        System.out.println("Slots = " + slots + " (" + (long) slots * SLOT_SIZE / (1 << 20) + " MB off heap), seed = " +
+                seed);
+        System.out.println(result);
+        System.out.println("Garbage collections = " + (collections() - startCollections));
+    }
+
+}
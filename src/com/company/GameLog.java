@@ -0,0 +1,341 @@
+package com.company;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only log of completed games in memory-mapped segment files.
+//
+// Segment: 32-byte header (magic, version, record size, segment index) followed by fixed-size records.
+// Record:  seed, Aces..Chance as shorts (-1 when unused), bonus count, turn count, grand total and a CRC32
+//          of the preceding bytes. All values are little-endian.
+//
+// Records are copied into the mapped segment and forced to disk once per group of records. After a crash the
+// last segment is scanned and everything from the first record that fails its CRC onwards is discarded. A last
+// segment without a valid header was cut short while being created, before it could hold records, and is
+// created again.
+final class GameLog implements AutoCloseable {
+
+    // Constants
+    final static int MAGIC = 0x59474C47;
+    final static int VERSION = 1;
+    final static int HEADER_SIZE = 32;
+
+    final static int SEED_OFFSET = 0;
+    final static int SCORES_OFFSET = 8;
+    final static int BONUS_COUNT_OFFSET = SCORES_OFFSET + Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME * Short.BYTES;
+    final static int TURN_COUNT_OFFSET = BONUS_COUNT_OFFSET + Short.BYTES;
+    final static int GRAND_TOTAL_OFFSET = TURN_COUNT_OFFSET + Integer.BYTES;
+    final static int CRC_OFFSET = GRAND_TOTAL_OFFSET + Integer.BYTES;
+    final static int RECORD_SIZE = CRC_OFFSET + Integer.BYTES;
+
+    final static long DEFAULT_SEGMENT_SIZE = 64L << 20;
+    final static int DEFAULT_GROUP_COMMIT_RECORDS = 4096;
+
+    final static String SEGMENT_PREFIX = "games-";
+    final static String SEGMENT_SUFFIX = ".log";
+
+    // Properties
+    private final Path directory;
+    private final long segmentSize;
+    private final int groupCommitRecords;
+    private final ByteBuffer scratch = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private int committedPosition;
+    private int pendingRecords;
+    private long appendedRecords;
+
+    // Constructor
+    GameLog(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_GROUP_COMMIT_RECORDS);
+    }
+
+    // Opens the newest segment in directory and recovers its end, or starts segment 0
+    GameLog(Path directory, long segmentSize, int groupCommitRecords) throws IOException {
+
+        if (segmentSize < HEADER_SIZE + RECORD_SIZE || segmentSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid segment size " + segmentSize);
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.groupCommitRecords = Math.max(1, groupCommitRecords);
+
+        Files.createDirectories(directory);
+
+        List<Path> segments = listSegments(directory);
+
+        if (segments.isEmpty())
+            openSegment(0);
+        else
+            recoverSegment(segments.get(segments.size() - 1));
+    }
+
+    // Methods
+    public long getAppendedRecords() {
+        return appendedRecords;
+    }
+
+    public long getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    public synchronized void append(Yahtzee game) throws IOException {
+
+        scratch.clear();
+        encode(game, scratch, crc);
+        append(scratch.flip());
+    }
+
+    // Appends whole records encoded with encode; batching records per thread keeps the lock out of the hot path
+    public synchronized void append(ByteBuffer records) throws IOException {
+
+        if (records.remaining() % RECORD_SIZE != 0)
+            throw new IllegalArgumentException("Partial record in batch");
+
+        int limit = records.limit();
+
+        while (records.hasRemaining()) {
+            if (segment.remaining() < RECORD_SIZE)
+                rotate();
+
+            int count = Math.min(records.remaining(), segment.remaining() / RECORD_SIZE * RECORD_SIZE);
+
+            records.limit(records.position() + count);
+            segment.put(records);
+            records.limit(limit);
+
+            pendingRecords += count / RECORD_SIZE;
+            appendedRecords += count / RECORD_SIZE;
+
+            if (pendingRecords >= groupCommitRecords)
+                commit();
+        }
+    }
+
+    // Forces every record appended so far to disk
+    public synchronized void commit() {
+
+        if (segment == null || segment.position() == committedPosition)
+            return;
+
+        segment.force(committedPosition, segment.position() - committedPosition);
+        committedPosition = segment.position();
+        pendingRecords = 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        commit();
+        segment = null;
+    }
+
+    private void rotate() throws IOException {
+        commit();
+        openSegment(segmentIndex + 1);
+    }
+
+    private void openSegment(long index) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, index), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segment.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0).putLong(index);
+        segment.force(0, HEADER_SIZE);
+        segment.position(HEADER_SIZE);
+
+        segmentIndex = index;
+        committedPosition = HEADER_SIZE;
+        pendingRecords = 0;
+    }
+
+    // Keeps the valid records at the start of the segment and zeroes whatever a crash left after them
+    private void recoverSegment(Path path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (!hasHeader(segment)) {
+            segment = null;
+            Files.delete(path);
+            openSegment(segmentIndex(path));
+            return;
+        }
+
+        segmentIndex = checkHeader(segment, path);
+
+        int end = validRecordsEnd(segment, crc);
+        int dirtyEnd = end;
+
+        for (int i = end; i + Long.BYTES <= segment.capacity(); i += Long.BYTES)
+            if (segment.getLong(i) != 0)
+                dirtyEnd = i + Long.BYTES;
+
+        for (int i = end; i < dirtyEnd; i += Long.BYTES)
+            segment.putLong(i, 0);
+
+        if (dirtyEnd > end)
+            segment.force(end, dirtyEnd - end);
+
+        segment.position(end);
+        committedPosition = end;
+        pendingRecords = 0;
+    }
+
+    // Writes one record at the buffer's position; the buffer must be a little-endian heap buffer
+    public static void encode(Yahtzee game, ByteBuffer buffer, CRC32 crc) {
+
+        int start = buffer.position();
+
+        buffer.putLong(game.getSeed());
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME; i++)
+            buffer.putShort((short) game.getScore(i));
+
+        buffer.putShort((short) Math.max(0, game.getScore(Yahtzee.YAHTZEE_BONUS_INDEX)));
+        buffer.putInt(game.getTurnCount());
+        buffer.putInt(game.calculateGrandTotal());
+
+        crc.reset();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, CRC_OFFSET);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    public static long getSeed(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + SEED_OFFSET);
+    }
+
+    public static int getScore(ByteBuffer buffer, int offset, int index) {
+        return buffer.getShort(offset + SCORES_OFFSET + index * Short.BYTES);
+    }
+
+    public static int getBonusCount(ByteBuffer buffer, int offset) {
+        return buffer.getShort(offset + BONUS_COUNT_OFFSET);
+    }
+
+    public static int getTurnCount(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + TURN_COUNT_OFFSET);
+    }
+
+    public static int getGrandTotal(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + GRAND_TOTAL_OFFSET);
+    }
+
+    // Called once per record; read the fields with the static getters
+    interface RecordVisitor {
+        void visit(ByteBuffer buffer, int offset);
+    }
+
+    // Visits every valid record in every segment, oldest first, and returns the number of records
+    public static long read(Path directory, RecordVisitor visitor) throws IOException {
+
+        CRC32 crc = new CRC32();
+        long records = 0;
+
+        List<Path> segments = listSegments(directory);
+
+        for (int i = 0; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            ByteBuffer segment;
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            // The newest segment may still be headerless from a crash while it was created; it holds no records
+            if (i == segments.size() - 1 && !hasHeader(segment))
+                continue;
+
+            checkHeader(segment, path);
+
+            int end = validRecordsEnd(segment, crc);
+
+            for (int offset = HEADER_SIZE; offset < end; offset += RECORD_SIZE) {
+                visitor.visit(segment, offset);
+                records++;
+            }
+        }
+
+        return records;
+    }
+
+    private static boolean hasHeader(ByteBuffer segment) {
+        return segment.capacity() >= HEADER_SIZE && segment.getInt(0) == MAGIC && segment.getInt(4) == VERSION &&
+                segment.getInt(8) == RECORD_SIZE;
+    }
+
+    private static long checkHeader(ByteBuffer segment, Path path) throws IOException {
+
+        if (!hasHeader(segment))
+            throw new IOException("Not a game log segment: " + path);
+
+        return segment.getLong(16);
+    }
+
+    private static int validRecordsEnd(ByteBuffer segment, CRC32 crc) {
+
+        ByteBuffer view = segment.duplicate();
+        int offset = HEADER_SIZE;
+
+        while (offset + RECORD_SIZE <= segment.capacity()) {
+            crc.reset();
+            view.limit(offset + CRC_OFFSET).position(offset);
+            crc.update(view);
+            view.limit(view.capacity());
+
+            if ((int) crc.getValue() != segment.getInt(offset + CRC_OFFSET))
+                break;
+
+            offset += RECORD_SIZE;
+        }
+
+        return offset;
+    }
+
+    static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    static long segmentIndex(Path path) {
+
+        String name = path.getFileName().toString();
+
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // Segment names are zero-padded, so name order is segment order
+    static List<Path> listSegments(Path directory) throws IOException {
+
+        List<Path> segments = new ArrayList<>();
+
+        if (!Files.isDirectory(directory))
+            return segments;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX) &&
+                            path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .forEach(segments::add);
+        }
+
+        return segments;
+    }
+
+}
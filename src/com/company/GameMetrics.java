@@ -0,0 +1,246 @@
+package com.company;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Counters, timers and JFR events around the hot paths of a game: dice rolls, reroll parsing, turn scoring,
+// score sheet rendering and the time spent waiting on the player.
+//
+// The counters and timers are off unless the JVM is started with -Dyahtzee.metrics=true. ENABLED is a static final
+// constant, so when it is false the JIT folds them away; when it is true each stop adds to a LongAdder.
+//
+// The JFR events need no property: while a recording has an event type enabled, start begins an event of that type
+// and stop ends and commits it, so JFR times it and applies its own duration threshold. Events are allocated only
+// then, and otherwise cost one enabled check each.
+final class GameMetrics {
+
+    // Constants
+    final static boolean ENABLED = Boolean.getBoolean("yahtzee.metrics");
+
+    final static int DICE_ROLL = 0;
+    final static int REROLL_PARSE = 1;
+    final static int TURN_SCORE = 2;
+    final static int SCORE_SHEET = 3;
+    final static int INPUT_WAIT = 4;
+    final static int NUMBER_OF_METRICS = 5;
+
+    final static String[] METRIC_NAMES = {"Dice roll", "Reroll parse", "Turn score", "Score sheet", "Input wait"};
+
+    private final static LongAdder[] COUNTS = new LongAdder[NUMBER_OF_METRICS];
+    private final static LongAdder[] NANOS = new LongAdder[NUMBER_OF_METRICS];
+    private final static LongAccumulator[] MAX_NANOS = new LongAccumulator[NUMBER_OF_METRICS];
+
+    // Never committed; only asked whether their event type is enabled
+    private final static MetricEvent[] PROBES = {new DiceRollEvent(), new RerollParseEvent(), new TurnScoreEvent(),
+            new ScoreSheetEvent(), new InputWaitEvent()};
+
+    // Events begun on this thread and not yet ended, by metric
+    private final static ThreadLocal<MetricEvent[]> OPEN_EVENTS =
+            ThreadLocal.withInitial(() -> new MetricEvent[NUMBER_OF_METRICS]);
+
+    static {
+        for (int i = 0; i < NUMBER_OF_METRICS; i++) {
+            COUNTS[i] = new LongAdder();
+            NANOS[i] = new LongAdder();
+            MAX_NANOS[i] = new LongAccumulator(Math::max, 0);
+        }
+    }
+
+    // Constructor
+    private GameMetrics() {
+    }
+
+    // Methods
+    // Start time to pass to stop, or 0 when metrics are disabled
+    static long start(int metric) {
+
+        if (PROBES[metric].isEnabled())
+            begin(metric);
+
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    static void stop(int metric, long startNanos) {
+        stop(metric, startNanos, 0);
+    }
+
+    // Value is recorded on the JFR event: dice rolled, hold mask, category or 0
+    static void stop(int metric, long startNanos, int value) {
+
+        if (ENABLED) {
+            long elapsed = System.nanoTime() - startNanos;
+
+            COUNTS[metric].increment();
+            NANOS[metric].add(elapsed);
+            MAX_NANOS[metric].accumulate(elapsed);
+        }
+
+        if (PROBES[metric].isEnabled())
+            end(metric, value);
+    }
+
+    private static void begin(int metric) {
+
+        MetricEvent event = newEvent(metric);
+
+        event.begin();
+        OPEN_EVENTS.get()[metric] = event;
+    }
+
+    // A recording that started after start found the type disabled has no event to end
+    private static void end(int metric, int value) {
+
+        MetricEvent[] events = OPEN_EVENTS.get();
+        MetricEvent event = events[metric];
+
+        if (event == null)
+            return;
+
+        events[metric] = null;
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.value = value;
+            event.commit();
+        }
+    }
+
+    private static MetricEvent newEvent(int metric) {
+
+        switch (metric) {
+            case DICE_ROLL:
+                return new DiceRollEvent();
+            case REROLL_PARSE:
+                return new RerollParseEvent();
+            case TURN_SCORE:
+                return new TurnScoreEvent();
+            case SCORE_SHEET:
+                return new ScoreSheetEvent();
+            default:
+                return new InputWaitEvent();
+        }
+    }
+
+    static Snapshot snapshot() {
+
+        long[] counts = new long[NUMBER_OF_METRICS];
+        long[] nanos = new long[NUMBER_OF_METRICS];
+        long[] maxNanos = new long[NUMBER_OF_METRICS];
+
+        for (int i = 0; i < NUMBER_OF_METRICS; i++) {
+            counts[i] = COUNTS[i].sum();
+            nanos[i] = NANOS[i].sum();
+            maxNanos[i] = MAX_NANOS[i].get();
+        }
+
+        return new Snapshot(counts, nanos, maxNanos);
+    }
+
+    static final class Snapshot {
+
+        private final long[] counts;
+        private final long[] nanos;
+        private final long[] maxNanos;
+
+        private Snapshot(long[] counts, long[] nanos, long[] maxNanos) {
+            this.counts = counts;
+            this.nanos = nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount(int metric) {
+            return counts[metric];
+        }
+
+        public long getTotalNanos(int metric) {
+            return nanos[metric];
+        }
+
+        public long getMaxNanos(int metric) {
+            return maxNanos[metric];
+        }
+
+        public double getMeanNanos(int metric) {
+            return (counts[metric] == 0) ? 0 : (double) nanos[metric] / counts[metric];
+        }
+
+        // Time spent computing and rendering, as against waiting on the player
+        public long getBusyNanos() {
+
+            long busy = 0;
+
+            for (int i = 0; i < NUMBER_OF_METRICS; i++)
+                if (i != INPUT_WAIT)
+                    busy += nanos[i];
+
+            return busy;
+        }
+
+        public String getSummary() {
+            return String.format("Metrics: busy = %.1f ms, input wait = %.1f ms", getBusyNanos() / 1e6,
+                    nanos[INPUT_WAIT] / 1e6);
+        }
+
+        @Override
+        public String toString() {
+
+            StringBuilder text = new StringBuilder(getSummary());
+
+            for (int i = 0; i < NUMBER_OF_METRICS; i++)
+                text.append(System.lineSeparator()).append(String.format("%-12s count = %d, total = %.1f ms, " +
+                        "mean = %.0f ns, max = %d ns", METRIC_NAMES[i], counts[i], nanos[i] / 1e6, getMeanNanos(i),
+                        maxNanos[i]));
+
+            return text.toString();
+        }
+
+    }
+
+    @Category("Yahtzee")
+    abstract static class MetricEvent extends Event {
+
+        @Label("Value")
+        int value;
+
+    }
+
+    // Dice rolls and turn scores happen millions of times a second in a simulation, so they are off by default
+    @Name("com.company.DiceRoll")
+    @Label("Dice Roll")
+    @Description("One draw from the dice source; value is the number of dice rolled")
+    @Enabled(false)
+    static final class DiceRollEvent extends MetricEvent {
+    }
+
+    @Name("com.company.RerollParse")
+    @Label("Reroll Parse")
+    @Description("Parsing the dice to reroll; value is the hold mask, or -1 for an invalid entry")
+    static final class RerollParseEvent extends MetricEvent {
+    }
+
+    @Name("com.company.TurnScore")
+    @Label("Turn Score")
+    @Description("Scoring the dice in a category; value is the category (1-14)")
+    @Enabled(false)
+    static final class TurnScoreEvent extends MetricEvent {
+    }
+
+    @Name("com.company.ScoreSheet")
+    @Label("Score Sheet")
+    @Description("Rendering and writing the score sheet")
+    static final class ScoreSheetEvent extends MetricEvent {
+    }
+
+    @Name("com.company.InputWait")
+    @Label("Input Wait")
+    @Description("Waiting for a line of player input")
+    static final class InputWaitEvent extends MetricEvent {
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.company;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+// Records every game played through the Yahtzee turn commands into a compact replay archive.
+//
+// Archive: one entry per game, a varint byte length then the game.
+// Game:    seed (8 bytes, little-endian) then a bit stream, least significant bit first:
+//            rules:     preset number (2 bits), or 3 followed by the values of the rules as checks
+//            per turn:  1, first roll outcome (13 bits),
+//                       per reroll: 1, hold mask (5 bits), outcome of the rerolled dice (0-13 bits),
+//                       0, category - 1 (4 bits, 15 when the player exited mid-turn), turn score check
+//            game end:  0, exited (1 bit), grand total check
+//          Checks are written in 7-bit groups with a continuation bit. A typical turn takes 6 to 8 bytes.
+final class GameRecorder {
+
+    // Constants
+    final static int ROLL_BITS = 13;
+    final static int HOLD_MASK_BITS = Yahtzee.NUMBER_OF_DICE;
+    final static int CATEGORY_BITS = 4;
+    final static int EXIT_CATEGORY = (1 << CATEGORY_BITS) - 1;
+    final static int CHECK_GROUP_BITS = 7;
+    final static int SEED_BYTES = Long.BYTES;
+    final static int RULES_BITS = 2;
+    final static int CUSTOM_RULES = (1 << RULES_BITS) - 1;
+
+    // Bits needed for the base-6 outcome of rolling n dice
+    final static int[] OUTCOME_BITS = {0, 3, 6, 8, 11, 13};
+
+    final static int INITIAL_CAPACITY = 1 << 16;
+
+    // Properties
+    private byte[] archive = new byte[INITIAL_CAPACITY];
+    private int archiveSize;
+    private long games;
+
+    private byte[] body = new byte[256];
+    private int bodySize;
+    private long bits;
+    private int bitCount;
+
+    private final int[] ruleValues = new int[YahtzeeRules.NUMBER_OF_VALUES];
+
+    private boolean inGame;
+    private boolean inTurn;
+
+    // Setters and getters
+    public int size() {
+        return archiveSize;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    // Methods
+    public void recordRoll(Yahtzee game, int outcome) {
+
+        if (!inGame)
+            beginGame(game.getSeed(), game.getRules());
+
+        writeBits(1, 1);
+        writeBits(outcome, ROLL_BITS);
+        inTurn = true;
+    }
+
+    public void recordHold(int holdMask, int outcome) {
+
+        writeBits(1, 1);
+        writeBits(holdMask, HOLD_MASK_BITS);
+        writeBits(outcome, OUTCOME_BITS[Yahtzee.NUMBER_OF_DICE - Integer.bitCount(holdMask)]);
+    }
+
+    public void recordScore(Yahtzee game, int scoreOption, int turnScore) {
+
+        writeBits(0, 1);
+        writeBits(scoreOption - 1, CATEGORY_BITS);
+        writeCheck(turnScore);
+        inTurn = false;
+
+        if (game.isGameComplete())
+            endGame(game, false);
+    }
+
+    public void recordExit(Yahtzee game) {
+
+        if (!inGame)
+            return;
+
+        if (inTurn) {
+            writeBits(0, 1);
+            writeBits(EXIT_CATEGORY, CATEGORY_BITS);
+            inTurn = false;
+        }
+
+        endGame(game, true);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(archive, archiveSize);
+    }
+
+    // Writes the recorded games and starts an empty archive; a game in progress carries on recording
+    public void writeTo(WritableByteChannel channel) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.wrap(archive, 0, archiveSize);
+
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+
+        archiveSize = 0;
+    }
+
+    private void beginGame(long seed, YahtzeeRules rules) {
+
+        bodySize = 0;
+        bits = 0;
+        bitCount = 0;
+
+        for (int i = 0; i < SEED_BYTES; i++)
+            writeBits((int) (seed >>> (i * Byte.SIZE)) & 0xFF, Byte.SIZE);
+
+        int preset = rules.getPresetNumber();
+
+        if (preset >= 0) {
+            writeBits(preset, RULES_BITS);
+        } else {
+            writeBits(CUSTOM_RULES, RULES_BITS);
+            rules.getValues(ruleValues);
+
+            for (int value : ruleValues)
+                writeCheck(value);
+        }
+
+        inGame = true;
+    }
+
+    private void endGame(Yahtzee game, boolean exited) {
+
+        writeBits(0, 1);
+        writeBits(exited ? 1 : 0, 1);
+        writeCheck(game.calculateGrandTotal());
+
+        if (bitCount > 0)
+            writeBits(0, Byte.SIZE - bitCount);
+
+        ensureArchiveCapacity(bodySize + 5);
+
+        for (int length = bodySize; ; length >>>= 7) {
+            if (length < 0x80) {
+                archive[archiveSize++] = (byte) length;
+                break;
+            }
+
+            archive[archiveSize++] = (byte) (length | 0x80);
+        }
+
+        System.arraycopy(body, 0, archive, archiveSize, bodySize);
+        archiveSize += bodySize;
+        games++;
+        inGame = false;
+    }
+
+    private void writeCheck(int value) {
+
+        do {
+            int group = value & ((1 << CHECK_GROUP_BITS) - 1);
+
+            value >>>= CHECK_GROUP_BITS;
+            writeBits(group | ((value != 0) ? 1 << CHECK_GROUP_BITS : 0), CHECK_GROUP_BITS + 1);
+        } while (value != 0);
+    }
+
+    private void writeBits(int value, int count) {
+
+        bits |= (long) value << bitCount;
+        bitCount += count;
+
+        while (bitCount >= Byte.SIZE) {
+            if (bodySize == body.length)
+                body = Arrays.copyOf(body, body.length * 2);
+
+            body[bodySize++] = (byte) bits;
+            bits >>>= Byte.SIZE;
+            bitCount -= Byte.SIZE;
+        }
+    }
+
+    private void ensureArchiveCapacity(int extra) {
+
+        if (archiveSize + extra > archive.length)
+            archive = Arrays.copyOf(archive, Math.max(archive.length * 2, archiveSize + extra));
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.company;
+
+import java.io.PrintStream;
+
+// Builds each screen in a reusable buffer and writes it with one call; output matches the old println sequence
+final class GameRenderer {
+
+    // Constants
+    final static String LINE_SEPARATOR = System.lineSeparator();
+    final static int INITIAL_CAPACITY = 1024;
+
+    private final static char UNICODE_DIE_INDEX = '\u267F';
+    private final static String DIE_LABEL_PREFIX = "Die #";
+    private final static String DIE_LABEL_SUFFIX = " = ";
+
+    private final static String UPPER_SECTION_LABEL = "UPPER SECTION";
+    private final static String LOWER_SECTION_LABEL = "LOWER SECTION";
+    private final static String UPPER_SECTION_SUBTOTAL_LABEL = "TOTAL SCORE";
+    private final static String UPPER_SECTION_BONUS_LABEL = "BONUS if >= ";
+    private final static String UPPER_SECTION_TOTAL_LABEL = "TOTAL of Upper Section";
+    private final static String LOWER_SECTION_TOTAL_LABEL = "TOTAL of Lower Section";
+    private final static String GRAND_TOTAL_LABEL = "GRAND TOTAL";
+    private final static String EQUALS_LABEL = " = ";
+
+    private final static String OPTION_SUFFIX_ONE_DIGIT = ")  ";
+    private final static String OPTION_SUFFIX_TWO_DIGIT = ") ";
+
+    final static String[] CATEGORY_LABELS = {"Aces", "Twos", "Threes", "Fours", "Fives", "Sixes",
+            "3 of a kind", "4 of a kind", "Full House", "Sm. Straight", "Lg. Straight", "YAHTZEE", "Chance",
+            "YAHTZEE BONUS"};
+
+    // "n)  Label" for every category, with the suffix the score sheet has always used
+    private final static String[] CATEGORY_LINES = new String[Yahtzee.NUMBER_OF_CATEGORIES];
+
+    private final static String REROLL_PROMPT_HEAD;
+    private final static String REROLL_PROMPT_TAIL;
+    private final static String CATEGORY_PROMPT;
+
+    static {
+        for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES; i++)
+            CATEGORY_LINES[i] = (i + 1) + ((i < 9) ? OPTION_SUFFIX_ONE_DIGIT : OPTION_SUFFIX_TWO_DIGIT) +
+                    CATEGORY_LABELS[i];
+
+        int rollsLeftIndex = Yahtzee.REROLL_MESSAGE_5.indexOf("%d");
+
+        REROLL_PROMPT_HEAD = LINE_SEPARATOR + Yahtzee.REROLL_MESSAGE_1 + LINE_SEPARATOR + LINE_SEPARATOR +
+                Yahtzee.REROLL_MESSAGE_2 + LINE_SEPARATOR + Yahtzee.REROLL_MESSAGE_3 + LINE_SEPARATOR +
+                Yahtzee.REROLL_MESSAGE_4 + LINE_SEPARATOR + LINE_SEPARATOR +
+                Yahtzee.REROLL_MESSAGE_5.substring(0, rollsLeftIndex);
+        REROLL_PROMPT_TAIL = Yahtzee.REROLL_MESSAGE_5.substring(rollsLeftIndex + 2) + LINE_SEPARATOR +
+                LINE_SEPARATOR + Yahtzee.REROLL_MESSAGE_6;
+        CATEGORY_PROMPT = LINE_SEPARATOR + Yahtzee.CATEGORY_MESSAGE_1 + LINE_SEPARATOR + LINE_SEPARATOR +
+                Yahtzee.CATEGORY_MESSAGE_2;
+    }
+
+    // Properties
+    private final StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+
+    // Lines that depend on the game text, rebuilt only when the game's text changes
+    private GameText text;
+    private String borderLine;
+    private String errorMessageFrame;
+
+    // Methods
+    public void displayTurnNumber(Yahtzee game, PrintStream outStream) {
+
+        buffer.setLength(0);
+        appendTurnNumber(game);
+        write(outStream);
+    }
+
+    public void displayDice(Yahtzee game, PrintStream outStream) {
+
+        buffer.setLength(0);
+        buffer.append(LINE_SEPARATOR);
+
+        appendTurnNumber(game);
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_DICE; i++)
+            buffer.append(DIE_LABEL_PREFIX).append(i + 1).append(DIE_LABEL_SUFFIX)
+                    .append((char) (UNICODE_DIE_INDEX + game.getDice(i)))
+                    .append(" (").append(game.getDice(i)).append(')').append(LINE_SEPARATOR);
+
+        buffer.append(LINE_SEPARATOR);
+        write(outStream);
+    }
+
+    public void displayScoreSheet(Yahtzee game, PrintStream outStream) {
+
+        int upperScoreTotal = game.calculateUpperScore();
+        int lowerScoreTotal = game.calculateLowerScore();
+
+        buffer.setLength(0);
+        buffer.append(LINE_SEPARATOR).append(UPPER_SECTION_LABEL).append(LINE_SEPARATOR);
+
+        for (int i = 0; i <= Yahtzee.UPPER_CATEGORY_UPPER_BOUND_INDEX; i++)
+            appendCategory(i, game.getScore(i));
+
+        appendTotal(UPPER_SECTION_SUBTOTAL_LABEL, upperScoreTotal, upperScoreTotal > 0);
+        buffer.append(UPPER_SECTION_BONUS_LABEL).append(game.getUpperBonusThreshold());
+        appendTotal("", game.getUpperBonusScore(), upperScoreTotal >= game.getUpperBonusThreshold());
+        appendUpperTotal(game, upperScoreTotal);
+
+        buffer.append(LINE_SEPARATOR).append(LOWER_SECTION_LABEL).append(LINE_SEPARATOR);
+
+        for (int i = Yahtzee.UPPER_CATEGORY_UPPER_BOUND_INDEX + 1; i < Yahtzee.YAHTZEE_BONUS_INDEX; i++)
+            appendCategory(i, game.getScore(i));
+
+        int bonusCount = game.getScore(Yahtzee.YAHTZEE_BONUS_INDEX);
+
+        appendCategory(Yahtzee.YAHTZEE_BONUS_INDEX,
+                (bonusCount == Game.SCORE_NO_VALUE) ? Game.SCORE_NO_VALUE : bonusCount * game.getYahtzeeBonusScore());
+
+        appendTotal(LOWER_SECTION_TOTAL_LABEL, lowerScoreTotal, lowerScoreTotal > 0);
+        appendUpperTotal(game, upperScoreTotal);
+
+        int bonus = game.getRules().calculateUpperBonus(upperScoreTotal);
+
+        appendTotal(GRAND_TOTAL_LABEL, upperScoreTotal + lowerScoreTotal + bonus, upperScoreTotal + lowerScoreTotal > 0);
+        buffer.append(LINE_SEPARATOR);
+        write(outStream);
+    }
+
+    public void displayErrorMessage(Yahtzee game, PrintStream outStream) {
+
+        updateText(game);
+
+        buffer.setLength(0);
+        buffer.append(errorMessageFrame);
+        write(outStream);
+    }
+
+    public void displayRerollPrompt(Yahtzee game, PrintStream outStream) {
+
+        buffer.setLength(0);
+        buffer.append(REROLL_PROMPT_HEAD).append(game.getMaxNumberRolls() - game.getNumberOfRolls())
+                .append(REROLL_PROMPT_TAIL);
+        write(outStream);
+    }
+
+    public void displayCategoryPrompt(PrintStream outStream) {
+
+        buffer.setLength(0);
+        buffer.append(CATEGORY_PROMPT);
+        write(outStream);
+    }
+
+    // Same layout as printf("%" + centerValue + "s"): the label right-aligned at the centre column
+    private void appendTurnNumber(Yahtzee game) {
+
+        updateText(game);
+
+        int labelStart = buffer.append(borderLine).length();
+
+        buffer.append(game.getTurnLabel()).append(game.getTurnCount()).append(' ')
+                .append(game.getRollLabel()).append(game.getNumberOfRolls());
+
+        int labelLength = buffer.length() - labelStart;
+        int padding = (game.getDisplayWidth() - labelLength) / 2;
+
+        for (int i = 0; i < padding; i++)
+            buffer.insert(labelStart, ' ');
+
+        buffer.append(LINE_SEPARATOR).append(borderLine);
+    }
+
+    private void appendCategory(int index, int score) {
+
+        buffer.append(CATEGORY_LINES[index]);
+
+        if (score != Game.SCORE_NO_VALUE)
+            buffer.append(EQUALS_LABEL).append(score);
+
+        buffer.append(LINE_SEPARATOR);
+    }
+
+    private void appendTotal(String label, int total, boolean showTotal) {
+
+        buffer.append(label);
+
+        if (showTotal)
+            buffer.append(EQUALS_LABEL).append(total);
+
+        buffer.append(LINE_SEPARATOR);
+    }
+
+    private void appendUpperTotal(Yahtzee game, int upperScoreTotal) {
+        appendTotal(UPPER_SECTION_TOTAL_LABEL, upperScoreTotal + game.getRules().calculateUpperBonus(upperScoreTotal),
+                upperScoreTotal > 0);
+    }
+
+    private void updateText(Yahtzee game) {
+
+        if (game.getText() == text)
+            return;
+
+        text = game.getText();
+        borderLine = text.getBorderChar().repeat(text.getDisplayWidth()) + LINE_SEPARATOR;
+
+        String messageBorder = text.getBorderChar().repeat(text.getInvalidInputMessage().length());
+
+        errorMessageFrame = LINE_SEPARATOR + messageBorder + LINE_SEPARATOR + text.getInvalidInputMessage() +
+                LINE_SEPARATOR + messageBorder + LINE_SEPARATOR;
+    }
+
+    private void write(PrintStream outStream) {
+        outStream.append(buffer);
+    }
+
+}
@@ -0,0 +1,249 @@
+package com.company;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Replays a GameRecorder archive through the turn commands and checks every recorded score, each game under the
+// rules it was recorded with
+final class GameReplayer {
+
+    // Properties
+    private final Yahtzee game;
+    private final ReplayDiceSource dice = new ReplayDiceSource();
+
+    // The last custom rules read, kept while games carry the same values so their tables are compiled once
+    private final int[] ruleValues = new int[YahtzeeRules.NUMBER_OF_VALUES];
+    private final int[] customValues = new int[YahtzeeRules.NUMBER_OF_VALUES];
+    private YahtzeeRules customRules;
+
+    private byte[] archive;
+    private int position;
+    private long bits;
+    private int bitCount;
+    private int gameEnd;
+
+    // Constructor
+    GameReplayer() {
+        this.game = new Yahtzee();
+        this.game.setDiceSource(dice);
+    }
+
+    // Methods
+    // Game state after the last replay
+    public Yahtzee getGame() {
+        return game;
+    }
+
+    // Replays every game in the archive and returns the number of games; throws on the first failed check
+    public long replayAll(byte[] archive) {
+
+        long games = 0;
+
+        for (int offset = 0; offset < archive.length; games++)
+            offset = replay(archive, offset);
+
+        return games;
+    }
+
+    // Replays the game starting at offset and returns the offset of the next game. Turn scores are summed and
+    // checked against the grand total; only a game that fails is replayed again with a check after every turn.
+    public int replay(byte[] archive, int offset) {
+
+        try {
+            return replay(archive, offset, false);
+        } catch (IllegalStateException ex) {
+            return replay(archive, offset, true);
+        }
+    }
+
+    private int replay(byte[] archive, int offset, boolean checkEveryTurn) {
+
+        this.archive = archive;
+        position = offset;
+
+        int length = 0;
+
+        for (int shift = 0; ; shift += 7) {
+            int b = archive[position++];
+
+            length |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                break;
+        }
+
+        gameEnd = position + length;
+        bits = 0;
+        bitCount = 0;
+
+        long seed = 0;
+
+        for (int i = 0; i < GameRecorder.SEED_BYTES; i++)
+            seed |= (long) readBits(Byte.SIZE) << (i * Byte.SIZE);
+
+        game.reset();
+        game.setSeed(seed);
+        game.setRules(readRules());
+
+        int recordedTotal = 0;
+
+        while (readBits(1) == 1) {
+            dice.outcome = readBits(GameRecorder.ROLL_BITS);
+            check(game.roll() != Yahtzee.EVENT_REJECTED, "roll");
+
+            while (readBits(1) == 1) {
+                int holdMask = readBits(GameRecorder.HOLD_MASK_BITS);
+
+                dice.outcome = readBits(GameRecorder.OUTCOME_BITS[Yahtzee.NUMBER_OF_DICE - Integer.bitCount(holdMask)]);
+                check(game.hold(holdMask) != Yahtzee.EVENT_REJECTED, "hold");
+            }
+
+            int category = readBits(GameRecorder.CATEGORY_BITS);
+
+            // The player exited mid-turn; the end of the game follows
+            if (category == GameRecorder.EXIT_CATEGORY)
+                continue;
+
+            if (!game.isTurnOver())
+                game.hold(Yahtzee.ALL_DICE_HELD);
+
+            int grandTotal = checkEveryTurn ? game.calculateGrandTotal() : 0;
+
+            check(game.score(category + 1) != Yahtzee.EVENT_REJECTED, "category");
+
+            int turnScore = readCheck();
+
+            if (checkEveryTurn)
+                check(game.calculateGrandTotal() - grandTotal == turnScore, "turn score");
+
+            recordedTotal += turnScore;
+        }
+
+        if (readBits(1) == 1)
+            game.exit();
+        else
+            check(game.isGameComplete(), "game end");
+
+        int grandTotal = game.calculateGrandTotal();
+
+        check(grandTotal == recordedTotal && grandTotal == readCheck(), "grand total");
+
+        return gameEnd;
+    }
+
+    private void check(boolean passed, String what) {
+
+        if (!passed)
+            throw new IllegalStateException("Replay check failed: " + what + " in turn " + game.getTurnCount() +
+                    " of game with seed " + game.getSeed());
+    }
+
+    private YahtzeeRules readRules() {
+
+        int preset = readBits(GameRecorder.RULES_BITS);
+
+        if (preset != GameRecorder.CUSTOM_RULES)
+            return YahtzeeRules.preset(preset);
+
+        for (int i = 0; i < ruleValues.length; i++)
+            ruleValues[i] = readCheck();
+
+        if (customRules == null || !Arrays.equals(ruleValues, customValues)) {
+            customRules = YahtzeeRules.fromValues(ruleValues);
+            System.arraycopy(ruleValues, 0, customValues, 0, ruleValues.length);
+        }
+
+        return customRules;
+    }
+
+    private int readCheck() {
+
+        int value = 0;
+
+        for (int shift = 0; ; shift += GameRecorder.CHECK_GROUP_BITS) {
+            int group = readBits(GameRecorder.CHECK_GROUP_BITS + 1);
+
+            value |= (group & ((1 << GameRecorder.CHECK_GROUP_BITS) - 1)) << shift;
+
+            if ((group >>> GameRecorder.CHECK_GROUP_BITS) == 0)
+                return value;
+        }
+    }
+
+    private int readBits(int count) {
+
+        while (bitCount < count) {
+            if (position >= gameEnd)
+                throw new IllegalStateException("Replay record is truncated");
+
+            bits |= (long) (archive[position++] & 0xFF) << bitCount;
+            bitCount += Byte.SIZE;
+        }
+
+        int value = (int) (bits & ((1L << count) - 1));
+
+        bits >>>= count;
+        bitCount -= count;
+
+        return value;
+    }
+
+    // Hands the replayer's recorded outcome to the turn commands in place of a random draw
+    private static final class ReplayDiceSource implements DiceSource {
+
+        private int outcome;
+
+        @Override
+        public void setSeed(long seed) {
+        }
+
+        // Dice rolled one at a time take the recorded outcome's digits in the order a single draw assigns them
+        @Override
+        public int rollDie() {
+
+            int die = outcome % Yahtzee.MAX_NUMBER_ON_DIE + 1;
+
+            outcome /= Yahtzee.MAX_NUMBER_ON_DIE;
+            return die;
+        }
+
+        @Override
+        public int rollDice(int numberOfDice) {
+            return outcome;
+        }
+
+        @Override
+        public long getState() {
+            return outcome;
+        }
+
+        @Override
+        public void setState(long state) {
+            outcome = (int) state;
+        }
+
+        @Override
+        public DiceSource split() {
+            return new ReplayDiceSource();
+        }
+
+    }
+
+    // Usage: GameReplayer file
+    public static void main(String[] args) throws IOException {
+
+        byte[] archive = Files.readAllBytes(Path.of(args[0]));
+        GameReplayer replayer = new GameReplayer();
+
+        long startTime = System.nanoTime();
+        long games = replayer.replayAll(archive);
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.printf("Games replayed = %d, bytes = %d (%.1f per game)%n", games, archive.length,
+                (games == 0) ? 0.0 : (double) archive.length / games);
+        System.out.printf("Games per second = %.0f%n", games / seconds);
+    }
+
+}
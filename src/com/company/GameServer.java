@@ -0,0 +1,341 @@
+package com.company;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs the console prompt flow for every TCP connection, one session thread and Yahtzee per player
+final class GameServer implements AutoCloseable {
+
+    // Constants
+    final static int DEFAULT_PORT = 5151;
+    final static int BACKLOG = 1024;
+    final static int STATISTICS_INTERVAL_SECONDS = 10;
+
+    final static String RESUME_PROMPT =
+            "Enter a session number and its token to resume it, or press enter for a new game";
+    final static String SESSION_MESSAGE = "Session ";
+    final static String TOKEN_MESSAGE = ", token ";
+    final static String RESUMED_MESSAGE = "Resuming session ";
+
+    // Properties
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final boolean virtualThreads;
+    private final long seed;
+    private final GameLog log;
+    private Leaderboard leaderboard;
+    private CheckpointStore checkpoints;
+
+    private final AtomicLong sessionCount = new AtomicLong();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder finishedSessions = new LongAdder();
+    private final LongAdder acceptLatencyNanos = new LongAdder();
+    private final LongAccumulator maxAcceptLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder measuredSessions = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+
+    // Constructor
+    GameServer(int port, long seed) throws IOException {
+        this(port, seed, null);
+    }
+
+    // Completed games are appended to log when it is not null
+    GameServer(int port, long seed, GameLog log) throws IOException {
+        this.serverSocket = new ServerSocket(port, BACKLOG);
+        this.seed = seed;
+        this.log = log;
+
+        ExecutorService virtualExecutor = newVirtualThreadExecutor();
+
+        this.virtualThreads = virtualExecutor != null;
+        this.sessions = virtualThreads ? virtualExecutor : Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "session");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Methods
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    // Completed games are ranked on leaderboard when it is not null
+    public void setLeaderboard(Leaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    public CheckpointStore getCheckpoints() {
+        return checkpoints;
+    }
+
+    // Sessions are checkpointed to checkpoints after every scored turn when it is not null, and a player may resume
+    // one instead of starting a new game. Session numbers carry on from the checkpointed ones.
+    public void setCheckpoints(CheckpointStore checkpoints) {
+        this.checkpoints = checkpoints;
+
+        if (checkpoints != null)
+            sessionCount.accumulateAndGet(checkpoints.getNextSessionNumber(), Math::max);
+    }
+
+    // Virtual threads need Java 21; looked up reflectively so the server still runs on 17 with a thread pool
+    private static ExecutorService newVirtualThreadExecutor() {
+
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    // Accepts connections until the server is closed
+    public void serve() throws IOException {
+
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException ex) {
+                if (serverSocket.isClosed())
+                    break;
+
+                throw ex;
+            }
+
+            long acceptedTime = System.nanoTime();
+            long sessionNumber = sessionCount.getAndIncrement();
+
+            sessions.execute(() -> runSession(socket, acceptedTime, sessionNumber));
+        }
+    }
+
+    // Each session plays from its own stream of the server seed, so sessions never share dice
+    private void runSession(Socket socket, long acceptedTime, long sessionNumber) {
+
+        long latency = System.nanoTime() - acceptedTime;
+        long startAllocated = currentThreadAllocatedBytes();
+
+        acceptLatencyNanos.add(latency);
+        maxAcceptLatencyNanos.accumulate(latency);
+        activeSessions.incrementAndGet();
+
+        CheckpointStore checkpoints = this.checkpoints;
+        Yahtzee game = null;
+        int slot = -1;
+
+        try (socket;
+             CommandReader input = new CommandReader(socket.getInputStream(), CommandReader.SESSION_BUFFER_SIZE);
+             PrintStream outStream = new PrintStream(new BufferedOutputStream(socket.getOutputStream()), true,
+                     StandardCharsets.UTF_8)) {
+
+            socket.setTcpNoDelay(true);
+
+            if (checkpoints == null) {
+                game = new Yahtzee(SplitMixDiceSource.streamSeed(seed, sessionNumber));
+
+                CSC151FinalProject.playGame(game, input, outStream);
+            } else {
+                outStream.println(RESUME_PROMPT);
+                CSC151FinalProject.readLine(input);
+
+                long[] resumeKey = new long[2];
+
+                if (input.parseNumbers(resumeKey) == resumeKey.length) {
+                    long resumeNumber = resumeKey[0];
+                    Yahtzee resumed = new Yahtzee(SplitMixDiceSource.streamSeed(seed, resumeNumber));
+
+                    slot = checkpoints.resume(resumeNumber, resumeKey[1], resumed);
+
+                    if (slot >= 0) {
+                        game = resumed;
+                        sessionNumber = resumeNumber;
+                        outStream.println(RESUMED_MESSAGE + sessionNumber);
+                    }
+                }
+
+                if (game == null) {
+                    game = new Yahtzee(SplitMixDiceSource.streamSeed(seed, sessionNumber));
+                    slot = checkpoints.create(game, sessionNumber);
+
+                    if (slot >= 0)
+                        outStream.println(SESSION_MESSAGE + sessionNumber + TOKEN_MESSAGE + checkpoints.getToken(slot));
+                    else
+                        outStream.println(SESSION_MESSAGE + sessionNumber);
+                }
+
+                int checkpointSlot = slot;
+
+                CSC151FinalProject.playGame(game, input, outStream,
+                        (checkpointSlot < 0) ? null : scored -> checkpoints.save(checkpointSlot, scored));
+            }
+
+            game.displayScoreSheet(outStream);
+
+            if (log != null && game.isGameComplete())
+                log.append(game);
+
+            if (leaderboard != null && game.isGameComplete()) {
+                leaderboard.record(game);
+                outStream.println("Rank = " + leaderboard.rank(game.calculateGrandTotal()) + " of " +
+                        leaderboard.getGames());
+            }
+        } catch (IOException | NoSuchElementException ex) {
+            // The player disconnected; nothing to clean up beyond the socket and the checkpoint
+        } finally {
+            // A game the player left in the middle stays checkpointed for resuming
+            if (slot >= 0) {
+                if (game.isGameComplete() || game.isGameExit())
+                    checkpoints.release(slot);
+                else
+                    checkpoints.suspend(slot);
+            }
+
+            long endAllocated = currentThreadAllocatedBytes();
+
+            if (startAllocated >= 0 && endAllocated >= 0) {
+                measuredSessions.increment();
+                allocatedBytes.add(endAllocated - startAllocated);
+                maxAllocatedBytes.accumulate(endAllocated - startAllocated);
+            }
+
+            activeSessions.decrementAndGet();
+            finishedSessions.increment();
+        }
+    }
+
+    // -1 when the JVM cannot measure the current thread (virtual threads are not supported by the MXBean)
+    private static long currentThreadAllocatedBytes() {
+
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads &&
+                threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled())
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+        return -1;
+    }
+
+    // Task for a schedule that reports a failure of task instead of throwing it, which would cancel every later run
+    static Runnable reportingFailures(String name, Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                System.err.println(name + " failed, retrying: " + ex);
+            }
+        };
+    }
+
+    public String getStatistics() {
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+        int active = activeSessions.get();
+        long finished = finishedSessions.sum();
+        long started = active + finished;
+        long measured = measuredSessions.sum();
+
+        String statistics = String.format("Sessions: active = %d, finished = %d, accepted = %d%n" +
+                        "Accept latency: mean = %.1f us, max = %.1f us%n" +
+                        "Allocated per session: mean = %.1f KB, max = %.1f KB%n" +
+                        "Heap used: %.1f MB (%.1f KB per active session)",
+                active, finished, sessionCount.get(),
+                (started == 0) ? 0.0 : acceptLatencyNanos.sum() / 1e3 / started,
+                maxAcceptLatencyNanos.get() / 1e3,
+                (measured == 0) ? 0.0 : allocatedBytes.sum() / 1024.0 / measured,
+                maxAllocatedBytes.get() / 1024.0,
+                heapUsed / (1024.0 * 1024.0),
+                (active == 0) ? 0.0 : heapUsed / 1024.0 / active);
+
+        return GameMetrics.ENABLED ? statistics + System.lineSeparator() + GameMetrics.snapshot() : statistics;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+
+        if (log != null)
+            log.close();
+
+        if (leaderboard != null)
+            leaderboard.close();
+
+        if (checkpoints != null)
+            checkpoints.close();
+    }
+
+    // Usage: GameServer [port] [seed] [log directory|-] [leaderboard file|-] [checkpoint file]
+    // An existing checkpoint file keeps the seed it was created with, so resumed sessions roll the same dice.
+    public static void main(String[] args) throws Exception {
+
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : System.nanoTime();
+        GameLog log = (args.length > 2 && !args[2].equals("-")) ? new GameLog(Path.of(args[2])) : null;
+        CheckpointStore checkpoints = (args.length > 4) ? new CheckpointStore(Path.of(args[4]), seed) : null;
+
+        if (checkpoints != null) {
+            seed = checkpoints.getSeed();
+            System.out.printf("Checkpoints: %d sessions to resume, %d free slots, opened in %.1f ms%n",
+                    checkpoints.getResumableSessions(), checkpoints.getFreeSlots(), checkpoints.getOpenNanos() / 1e6);
+        }
+
+        try (GameServer server = new GameServer(port, seed, log)) {
+            if (args.length > 3 && !args[3].equals("-"))
+                server.setLeaderboard(new Leaderboard(Path.of(args[3])));
+
+            server.setCheckpoints(checkpoints);
+
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "server-statistics");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            reporter.scheduleAtFixedRate(() -> System.out.println(server.getStatistics()),
+                    STATISTICS_INTERVAL_SECONDS, STATISTICS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+            // Games that finish between group commits reach the disk within a second
+            if (log != null)
+                reporter.scheduleAtFixedRate(reportingFailures("Log commit", log::commit), 1, 1, TimeUnit.SECONDS);
+
+            if (checkpoints != null)
+                reporter.scheduleAtFixedRate(reportingFailures("Checkpoint force", checkpoints::force), 1, 1,
+                        TimeUnit.SECONDS);
+
+            System.out.println("Listening on port " + server.getPort() + ", " +
+                    (server.isVirtualThreads() ? "virtual" : "platform") + " session threads, seed = " + seed);
+
+            server.serve();
+        }
+    }
+
+}
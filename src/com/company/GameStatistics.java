@@ -0,0 +1,187 @@
+package com.company;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Running totals over completed games, recorded from any number of threads without contention.
+//
+// Every writer thread takes a stripe of counters of its own with newStripe and writes only that, with opaque stores
+// so a reader never sees a torn value. Stripes are never removed, so take one per worker, not per task or session.
+// A snapshot sums every stripe while the writers carry on, so it may be a few games behind but never blocks them.
+final class GameStatistics {
+
+    // Constants
+    final static int MAX_SCORE = Leaderboard.MAX_SCORE;
+    final static int MAX_BONUS_COUNT = 15;
+
+    // Stripe layout; the padding keeps stripes of different threads off each other's cache lines
+    private final static int PADDING = 16;
+    private final static int GAMES = PADDING;
+    private final static int UPPER_BONUS_GAMES = GAMES + 1;
+    private final static int CATEGORY_HITS = UPPER_BONUS_GAMES + 1;
+    private final static int CATEGORY_ZEROS = CATEGORY_HITS + Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME;
+    private final static int BONUS_COUNTS = CATEGORY_ZEROS + Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME;
+    private final static int SCORES = BONUS_COUNTS + MAX_BONUS_COUNT + 1;
+    private final static int STRIPE_SIZE = SCORES + MAX_SCORE + 1 + PADDING;
+
+    private final static VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Properties
+    private final CopyOnWriteArrayList<long[]> stripes = new CopyOnWriteArrayList<>();
+
+    // Methods
+    // Stripe for a single writer thread, such as a simulator worker
+    public Stripe newStripe() {
+
+        long[] counts = new long[STRIPE_SIZE];
+
+        stripes.add(counts);
+
+        return new Stripe(counts);
+    }
+
+    public Snapshot snapshot() {
+
+        long[] totals = new long[STRIPE_SIZE];
+
+        for (long[] counts : stripes)
+            for (int i = GAMES; i < STRIPE_SIZE - PADDING; i++)
+                totals[i] += (long) COUNTS.getOpaque(counts, i);
+
+        return new Snapshot(totals);
+    }
+
+    static final class Stripe {
+
+        private final long[] counts;
+
+        private Stripe(long[] counts) {
+            this.counts = counts;
+        }
+
+        public void record(Yahtzee game) {
+
+            int upperScore = game.calculateUpperScore();
+            int grandTotal = game.calculateGrandTotal();
+            int bonusCount = Math.max(0, game.getScore(Yahtzee.YAHTZEE_BONUS_INDEX));
+
+            increment(GAMES);
+            increment(SCORES + Math.max(0, Math.min(grandTotal, MAX_SCORE)));
+            increment(BONUS_COUNTS + Math.min(bonusCount, MAX_BONUS_COUNT));
+
+            if (upperScore >= game.getUpperBonusThreshold())
+                increment(UPPER_BONUS_GAMES);
+
+            for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME; i++) {
+                int score = game.getScore(i);
+
+                if (score > 0)
+                    increment(CATEGORY_HITS + i);
+                else if (score == 0)
+                    increment(CATEGORY_ZEROS + i);
+            }
+        }
+
+        // Only the owning thread writes, so a plain read of its own last store is enough
+        private void increment(int index) {
+            COUNTS.setOpaque(counts, index, counts[index] + 1);
+        }
+
+    }
+
+    static final class Snapshot {
+
+        private final long[] totals;
+
+        private Snapshot(long[] totals) {
+            this.totals = totals;
+        }
+
+        public long getGames() {
+            return totals[GAMES];
+        }
+
+        // Games with each grand total; the last bucket also counts every higher score
+        public long getScoreCount(int score) {
+            return totals[SCORES + score];
+        }
+
+        public long getBonusCountGames(int bonusCount) {
+            return totals[BONUS_COUNTS + bonusCount];
+        }
+
+        public double getMeanScore() {
+
+            long sum = 0;
+
+            for (int score = 0; score <= MAX_SCORE; score++)
+                sum += score * totals[SCORES + score];
+
+            return (getGames() == 0) ? 0 : (double) sum / getGames();
+        }
+
+        // Score at or below which the given fraction of games fall
+        public int getPercentile(double fraction) {
+
+            long target = (long) Math.ceil(fraction * getGames());
+            long seen = 0;
+
+            for (int score = 0; score <= MAX_SCORE; score++) {
+                seen += totals[SCORES + score];
+
+                if (seen >= Math.max(1, target))
+                    return score;
+            }
+
+            return MAX_SCORE;
+        }
+
+        // Fraction of games that scored more than zero in the category (0-12)
+        public double getHitRate(int index) {
+            return rate(totals[CATEGORY_HITS + index]);
+        }
+
+        // Fraction of games that scored a zero in the category (0-12)
+        public double getZeroRate(int index) {
+            return rate(totals[CATEGORY_ZEROS + index]);
+        }
+
+        public double getUpperBonusRate() {
+            return rate(totals[UPPER_BONUS_GAMES]);
+        }
+
+        private double rate(long count) {
+            return (getGames() == 0) ? 0 : (double) count / getGames();
+        }
+
+        public String getSummary() {
+            return String.format("Games = %d, mean = %.2f, median = %d, upper bonus rate = %.4f",
+                    getGames(), getMeanScore(), getPercentile(0.5), getUpperBonusRate());
+        }
+
+        @Override
+        public String toString() {
+
+            StringBuilder text = new StringBuilder(getSummary()).append(System.lineSeparator());
+
+            text.append(String.format("Percentiles: 10%% = %d, 25%% = %d, 75%% = %d, 90%% = %d, 99%% = %d%n",
+                    getPercentile(0.1), getPercentile(0.25), getPercentile(0.75), getPercentile(0.9),
+                    getPercentile(0.99)));
+
+            for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME; i++)
+                text.append(String.format("Category %2d: hit rate = %.4f, zero rate = %.4f%n", i + 1, getHitRate(i),
+                        getZeroRate(i)));
+
+            text.append("YAHTZEE bonus counts:");
+
+            for (int count = 0; count <= MAX_BONUS_COUNT; count++)
+                if (getBonusCountGames(count) > 0)
+                    text.append(' ').append(count).append(" = ").append(getBonusCountGames(count));
+
+            return text.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.company;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+// Table of 2 or more players taking turns in seat order, scored column by column.
+//
+// Scorecards are held as one int array per category across the players (SCORE_NO_VALUE when unused), so totals,
+// game over checks and standings are tight loops over primitive columns. One Yahtzee view plays every turn: the
+// current player's card is loaded into it when their turn comes round and the scored categories are written back.
+final class GameTable {
+
+    // Constants
+    final static int MIN_PLAYERS = 2;
+
+    // Properties
+    private final int players;
+    private final Yahtzee turn;
+    private final int[][] scores;
+    private final int[] filledCounts;
+    private final int[] turnCounts;
+    private int currentPlayer;
+    private int round;
+
+    // Constructor
+    GameTable(int players, long seed) {
+        this(players, new Yahtzee(), seed);
+    }
+
+    // Every turn is played under the rules of the given game; all players draw from one dice stream
+    GameTable(int players, Yahtzee rules, long seed) {
+
+        if (players < MIN_PLAYERS)
+            throw new IllegalArgumentException("A table needs at least " + MIN_PLAYERS + " players");
+
+        this.players = players;
+        this.turn = new Yahtzee(seed);
+        this.turn.setRules(rules.getRules());
+        this.scores = new int[Yahtzee.NUMBER_OF_CATEGORIES][players];
+        this.filledCounts = new int[players];
+        this.turnCounts = new int[players];
+
+        reset();
+    }
+
+    // Setters and getters
+    public int getPlayers() {
+        return players;
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    // Round of the current turn, starting at 1; more than 13 when YAHTZEE bonus turns have held up a card
+    public int getRound() {
+        return round;
+    }
+
+    // View of the current player's card and dice, for display and for decision policies
+    public Yahtzee getTurn() {
+        return turn;
+    }
+
+    public int getScore(int player, int index) {
+        return scores[index][player];
+    }
+
+    public boolean isGameExit() {
+        return turn.isGameExit();
+    }
+
+    // Methods
+    public void reset() {
+
+        for (int[] column : scores)
+            Arrays.fill(column, Game.SCORE_NO_VALUE);
+
+        Arrays.fill(filledCounts, 0);
+        Arrays.fill(turnCounts, 0);
+        currentPlayer = 0;
+        round = 1;
+        loadPlayer(0);
+    }
+
+    public void setSeed(long seed) {
+        turn.setSeed(seed);
+    }
+
+    public int roll() {
+        return turn.roll();
+    }
+
+    public int hold(int holdMask) {
+        return turn.hold(holdMask);
+    }
+
+    // Scores the current player's dice in category scoreOption (1-14) and passes the dice to the next seat.
+    // Returns EVENT_GAME_OVER once every player has filled their card, otherwise EVENT_SCORED.
+    public int score(int scoreOption) {
+
+        int player = currentPlayer;
+        int index = scoreOption - 1;
+        boolean yahtzeeUsed = scores[Yahtzee.YAHTZEE_INDEX][player] != Game.SCORE_NO_VALUE;
+
+        if (turn.score(scoreOption) == Yahtzee.EVENT_REJECTED)
+            return Yahtzee.EVENT_REJECTED;
+
+        // Scoring YAHTZEE also opens the bonus, and the bonus category takes YAHTZEE while it is unused
+        scores[index][player] = turn.getScore(index);
+        scores[Yahtzee.YAHTZEE_INDEX][player] = turn.getScore(Yahtzee.YAHTZEE_INDEX);
+        scores[Yahtzee.YAHTZEE_BONUS_INDEX][player] = turn.getScore(Yahtzee.YAHTZEE_BONUS_INDEX);
+        turnCounts[player] = turn.getTurnCount();
+
+        if (index != Yahtzee.YAHTZEE_BONUS_INDEX || !yahtzeeUsed)
+            filledCounts[player]++;
+
+        if (isGameOver())
+            return Yahtzee.EVENT_GAME_OVER;
+
+        // A YAHTZEE bonus turn fills no category, so a seat with a full card sits out while the others catch up
+        do {
+            if (++currentPlayer == players) {
+                currentPlayer = 0;
+                round++;
+            }
+        } while (filledCounts[currentPlayer] == Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME);
+
+        loadPlayer(currentPlayer);
+
+        return Yahtzee.EVENT_SCORED;
+    }
+
+    public int exit() {
+        return turn.exit();
+    }
+
+    public boolean isGameOver() {
+
+        for (int player = 0; player < players; player++)
+            if (filledCounts[player] < Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME)
+                return false;
+
+        return true;
+    }
+
+    // Fills totals with every player's grand total, with the same bonuses as Yahtzee.calculateGrandTotal
+    public void calculateGrandTotals(int[] totals) {
+
+        Arrays.fill(totals, 0, players, 0);
+
+        for (int i = 0; i <= Yahtzee.UPPER_CATEGORY_UPPER_BOUND_INDEX; i++)
+            addColumn(scores[i], 1, totals);
+
+        for (int player = 0; player < players; player++)
+            totals[player] += turn.getRules().calculateUpperBonus(totals[player]);
+
+        for (int i = Yahtzee.UPPER_CATEGORY_UPPER_BOUND_INDEX + 1; i < Yahtzee.YAHTZEE_BONUS_INDEX; i++)
+            addColumn(scores[i], 1, totals);
+
+        addColumn(scores[Yahtzee.YAHTZEE_BONUS_INDEX], turn.getYahtzeeBonusScore(), totals);
+    }
+
+    // Unused categories hold SCORE_NO_VALUE (-1) and add nothing
+    private void addColumn(int[] column, int weight, int[] totals) {
+
+        for (int player = 0; player < players; player++)
+            totals[player] += Math.max(0, column[player]) * weight;
+    }
+
+    // Players in order of grand total, the earlier seat first on a tie
+    public int[] getStandings() {
+
+        int[] totals = new int[players];
+        Integer[] order = new Integer[players];
+
+        calculateGrandTotals(totals);
+
+        for (int player = 0; player < players; player++)
+            order[player] = player;
+
+        Arrays.sort(order, (a, b) -> (totals[a] != totals[b]) ? Integer.compare(totals[b], totals[a]) :
+                Integer.compare(a, b));
+
+        int[] standings = new int[players];
+
+        for (int i = 0; i < players; i++)
+            standings[i] = order[i];
+
+        return standings;
+    }
+
+    public void displayStandings(PrintStream outStream) {
+
+        int[] totals = new int[players];
+        int[] standings = getStandings();
+
+        calculateGrandTotals(totals);
+
+        for (int i = 0; i < players; i++)
+            outStream.printf("%2d. Player %d  %4d%n", i + 1, standings[i] + 1, totals[standings[i]]);
+    }
+
+    private void loadPlayer(int player) {
+
+        turn.reset();
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES; i++)
+            if (scores[i][player] != Game.SCORE_NO_VALUE)
+                turn.setScore(i, scores[i][player]);
+
+        turn.setTurnCount(turnCounts[player]);
+    }
+
+    // Plays the table to the end, each seat choosing with its own policy
+    public static void playGame(GameTable table, DecisionPolicy[] policies) {
+
+        Yahtzee turn = table.getTurn();
+
+        while (!table.isGameOver() && !table.isGameExit()) {
+            DecisionPolicy policy = policies[table.getCurrentPlayer()];
+
+            table.roll();
+
+            while (!turn.isTurnOver())
+                if (table.hold(policy.chooseHoldMask(turn)) == Yahtzee.EVENT_REJECTED)
+                    throw new IllegalStateException("Policy chose an invalid hold mask");
+
+            if (table.score(policy.chooseCategory(turn)) == Yahtzee.EVENT_REJECTED)
+                throw new IllegalStateException("Policy chose an invalid category");
+        }
+    }
+
+    // Usage: GameTable [players] [tables] [seed] [policy for each seat ...]
+    public static void main(String[] args) throws Exception {
+
+        int players = (args.length > 0) ? Integer.parseInt(args[0]) : 4;
+        int tables = (args.length > 1) ? Integer.parseInt(args[1]) : 10_000;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+        DecisionPolicy[] policies = new DecisionPolicy[players];
+
+        for (int i = 0; i < players; i++)
+            policies[i] = BatchSimulator.policyFactory((args.length > 3 + i) ? args[3 + i] : "greedy").get();
+
+        GameTable table = new GameTable(players, seed);
+        int[] totals = new int[players];
+        long[] seatWins = new long[players];
+        long[] seatTotals = new long[players];
+
+        for (int i = 0; i < tables; i++) {
+            table.reset();
+            table.setSeed(SplitMixDiceSource.streamSeed(seed, i));
+            playGame(table, policies);
+            table.calculateGrandTotals(totals);
+            seatWins[table.getStandings()[0]]++;
+
+            for (int player = 0; player < players; player++)
+                seatTotals[player] += totals[player];
+        }
+
+        System.out.println("Tables = " + tables + ", players = " + players + ", seed = " + seed);
+
+        for (int player = 0; player < players; player++)
+            System.out.printf("Seat %d: wins = %.4f, mean score = %.2f%n", player + 1,
+                    (double) seatWins[player] / tables, (double) seatTotals[player] / tables);
+
+        System.out.println("Last table:");
+        table.displayStandings(System.out);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.company;
+
+// Display text shared by every game that has not customised it; setters on Game copy it on write
+final class GameText {
+
+    // Constants
+    final static GameText DEFAULT = new GameText("*", "Turn #", 70, "*** Invalid input ***", "Roll #",
+            "Welcome to YAHTZEE", "Press the Enter key to continue: ");
+
+    // Properties
+    private final String borderChar;
+    private final String turnLabel;
+    private final int displayWidth;
+    private final String invalidInputMessage;
+    private final String rollLabel;
+    private final String welcomeMessage;
+    private final String pressEnterMessage;
+
+    // Constructor
+    GameText(String borderChar, String turnLabel, int displayWidth, String invalidInputMessage, String rollLabel,
+             String welcomeMessage, String pressEnterMessage) {
+        this.borderChar = borderChar;
+        this.turnLabel = turnLabel;
+        this.displayWidth = displayWidth;
+        this.invalidInputMessage = invalidInputMessage;
+        this.rollLabel = rollLabel;
+        this.welcomeMessage = welcomeMessage;
+        this.pressEnterMessage = pressEnterMessage;
+    }
+
+    // Setters and getters
+    public String getBorderChar() {
+        return borderChar;
+    }
+
+    public GameText withBorderChar(String borderChar) {
+        return new GameText(borderChar, turnLabel, displayWidth, invalidInputMessage, rollLabel, welcomeMessage,
+                pressEnterMessage);
+    }
+
+    public String getTurnLabel() {
+        return turnLabel;
+    }
+
+    public GameText withTurnLabel(String turnLabel) {
+        return new GameText(borderChar, turnLabel, displayWidth, invalidInputMessage, rollLabel, welcomeMessage,
+                pressEnterMessage);
+    }
+
+    public int getDisplayWidth() {
+        return displayWidth;
+    }
+
+    public GameText withDisplayWidth(int displayWidth) {
+        return new GameText(borderChar, turnLabel, displayWidth, invalidInputMessage, rollLabel, welcomeMessage,
+                pressEnterMessage);
+    }
+
+    public String getInvalidInputMessage() {
+        return invalidInputMessage;
+    }
+
+    public GameText withInvalidInputMessage(String invalidInputMessage) {
+        return new GameText(borderChar, turnLabel, displayWidth, invalidInputMessage, rollLabel, welcomeMessage,
+                pressEnterMessage);
+    }
+
+    public String getRollLabel() {
+        return rollLabel;
+    }
+
+    public GameText withRollLabel(String rollLabel) {
+        return new GameText(borderChar, turnLabel, displayWidth, invalidInputMessage, rollLabel, welcomeMessage,
+                pressEnterMessage);
+    }
+
+    public String getWelcomeMessage() {
+        return welcomeMessage;
+    }
+
+    public GameText withWelcomeMessage(String welcomeMessage) {
+        return new GameText(borderChar, turnLabel, displayWidth, invalidInputMessage, rollLabel, welcomeMessage,
+                pressEnterMessage);
+    }
+
+    public String getPressEnterMessage() {
+        return pressEnterMessage;
+    }
+
+    public GameText withPressEnterMessage(String pressEnterMessage) {
+        return new GameText(borderChar, turnLabel, displayWidth, invalidInputMessage, rollLabel, welcomeMessage,
+                pressEnterMessage);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.company;
+
+final class GreedyPolicy implements DecisionPolicy {
+
+    // Holds every die showing the most common number, preferring the higher number on a tie
+    @Override
+    public int chooseHoldMask(Yahtzee game) {
+
+        int[] dieCount = game.calculateLowerSectionCategory();
+        int bestNumber = Yahtzee.MAX_NUMBER_ON_DIE;
+        int holdMask = 0;
+
+        for (int i = Yahtzee.MAX_NUMBER_ON_DIE - 1; i >= 1; i--)
+            if (dieCount[i] > dieCount[bestNumber])
+                bestNumber = i;
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_DICE; i++)
+            if (game.getDice(i) == bestNumber)
+                holdMask |= 1 << i;
+
+        return holdMask;
+    }
+
+    // Takes a Yahtzee bonus when available, otherwise the allowed category with the highest score
+    @Override
+    public int chooseCategory(Yahtzee game) {
+
+        int[] scoreTable = game.getScoreTable();
+        int handOffset = game.getHandIndex() * Yahtzee.NUMBER_OF_CATEGORIES;
+        int allowed = game.getAllowedCategories();
+        int bestOption = 0;
+
+        if ((allowed & YahtzeeRules.YAHTZEE_BONUS_MASK) != 0 && game.getYahtzeeScore() > 0 &&
+                game.getScore(Yahtzee.YAHTZEE_INDEX) == game.getYahtzeeScore() &&
+                scoreTable[handOffset + Yahtzee.YAHTZEE_INDEX] == game.getYahtzeeScore())
+            return Yahtzee.YAHTZEE_BONUS_INDEX + 1;
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME; i++)
+            if ((allowed & (1 << i)) != 0 &&
+                    (bestOption == 0 || scoreTable[handOffset + i] > scoreTable[handOffset + bestOption - 1]))
+                bestOption = i + 1;
+
+        return bestOption;
+    }
+
+}
@@ -0,0 +1,286 @@
+package com.company;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Persistent leaderboard in one memory-mapped file, so heap use does not grow with the number of games.
+//
+// Header:     magic, version, K, period slots, period length in milliseconds and the number of top-K entries.
+// Histograms: game count per grand total for all time, then one per period slot. Period slots form a ring keyed
+//             by period number, each headed by the period it currently counts.
+// Top K:      the K best games (grand total, seed, time) in descending order of score, earliest first on a tie.
+//
+// Counting is a lock-free atomic add on the mapped histogram; only a game that makes the top K takes the lock.
+final class Leaderboard implements AutoCloseable {
+
+    // Constants
+    final static int MAGIC = 0x59544B4C;
+    final static int VERSION = 1;
+    final static int HEADER_SIZE = 64;
+
+    // Scores from MAX_SCORE up share the last bucket
+    final static int MAX_SCORE = 2047;
+    final static int HISTOGRAM_SIZE = (MAX_SCORE + 1) * Long.BYTES;
+    final static int PERIOD_SLOT_SIZE = Long.BYTES + HISTOGRAM_SIZE;
+    final static int ENTRY_SIZE = 3 * Long.BYTES;
+
+    final static int DEFAULT_TOP_K = 1000;
+    final static int DEFAULT_PERIOD_SLOTS = 32;
+    final static long DEFAULT_PERIOD_MILLIS = 24L * 60 * 60 * 1000;
+
+    private final static int TOP_K_OFFSET = 8;
+    private final static int PERIOD_SLOTS_OFFSET = 12;
+    private final static int PERIOD_MILLIS_OFFSET = 16;
+    private final static int ENTRY_COUNT_OFFSET = 24;
+
+    private final static VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // Properties
+    private final MappedByteBuffer buffer;
+    private final int topK;
+    private final int periodSlots;
+    private final long periodMillis;
+    private final int periodsOffset;
+    private final int entriesOffset;
+
+    // Lowest score that can still enter the top K; read without the lock on every insert
+    private volatile int threshold;
+
+    // Constructor
+    Leaderboard(Path path) throws IOException {
+        this(path, DEFAULT_TOP_K, DEFAULT_PERIOD_SLOTS, DEFAULT_PERIOD_MILLIS);
+    }
+
+    // Opens the leaderboard at path, creating it with the given layout when it does not exist
+    Leaderboard(Path path, int topK, int periodSlots, long periodMillis) throws IOException {
+
+        boolean exists = Files.exists(path);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (exists) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+
+                header.order(ByteOrder.LITTLE_ENDIAN);
+
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+                    throw new IOException("Not a leaderboard: " + path);
+
+                topK = header.getInt(TOP_K_OFFSET);
+                periodSlots = header.getInt(PERIOD_SLOTS_OFFSET);
+                periodMillis = header.getLong(PERIOD_MILLIS_OFFSET);
+            }
+
+            if (topK < 1 || periodSlots < 1 || periodMillis < 1)
+                throw new IllegalArgumentException("Invalid leaderboard layout");
+
+            this.topK = topK;
+            this.periodSlots = periodSlots;
+            this.periodMillis = periodMillis;
+            this.periodsOffset = HEADER_SIZE + HISTOGRAM_SIZE;
+            this.entriesOffset = periodsOffset + periodSlots * PERIOD_SLOT_SIZE;
+
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, entriesOffset + (long) topK * ENTRY_SIZE);
+        }
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (!exists) {
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(TOP_K_OFFSET, topK)
+                    .putInt(PERIOD_SLOTS_OFFSET, periodSlots).putLong(PERIOD_MILLIS_OFFSET, periodMillis);
+
+            for (int slot = 0; slot < periodSlots; slot++)
+                buffer.putLong(periodsOffset + slot * PERIOD_SLOT_SIZE, -1);
+        }
+
+        threshold = (getEntryCount() < topK) ? Integer.MIN_VALUE : getEntryScore(topK - 1) + 1;
+    }
+
+    // Setters and getters
+    public int getTopK() {
+        return topK;
+    }
+
+    public int getEntryCount() {
+        return buffer.getInt(ENTRY_COUNT_OFFSET);
+    }
+
+    public int getEntryScore(int index) {
+        return (int) buffer.getLong(entriesOffset + index * ENTRY_SIZE);
+    }
+
+    public long getEntrySeed(int index) {
+        return buffer.getLong(entriesOffset + index * ENTRY_SIZE + Long.BYTES);
+    }
+
+    public long getEntryTime(int index) {
+        return buffer.getLong(entriesOffset + index * ENTRY_SIZE + 2 * Long.BYTES);
+    }
+
+    // Methods
+    public long getPeriod(long timeMillis) {
+        return Math.floorDiv(timeMillis, periodMillis);
+    }
+
+    public void record(Yahtzee game) {
+        record(game.calculateGrandTotal(), game.getSeed(), System.currentTimeMillis());
+    }
+
+    public void record(int score, long seed, long timeMillis) {
+
+        int bucket = Math.max(0, Math.min(score, MAX_SCORE));
+
+        int periodOffset = periodHistogramOffset(getPeriod(timeMillis), true);
+
+        LONGS.getAndAdd(buffer, HEADER_SIZE + bucket * Long.BYTES, 1L);
+
+        // A game from a period that has dropped out of the ring counts for all time only
+        if (periodOffset >= 0)
+            LONGS.getAndAdd(buffer, periodOffset + bucket * Long.BYTES, 1L);
+
+        if (score >= threshold)
+            insert(score, seed, timeMillis);
+    }
+
+    // Number of games recorded for all time
+    public long getGames() {
+        return countFrom(HEADER_SIZE, 0);
+    }
+
+    // Number of games recorded in period, or 0 when it has dropped out of the ring
+    public long getGames(long period) {
+
+        int offset = periodHistogramOffset(period, false);
+
+        return (offset < 0) ? 0 : countFrom(offset, 0);
+    }
+
+    // 1 + the number of games with a higher score, for all time
+    public long rank(int score) {
+        return 1 + countFrom(HEADER_SIZE, Math.max(0, Math.min(score, MAX_SCORE)) + 1);
+    }
+
+    public long rank(int score, long period) {
+
+        int offset = periodHistogramOffset(period, false);
+
+        return 1 + ((offset < 0) ? 0 : countFrom(offset, Math.max(0, Math.min(score, MAX_SCORE)) + 1));
+    }
+
+    // Best n scores of period in descending order; shorter when the period has fewer games
+    public int[] topScores(long period, int n) {
+
+        int offset = periodHistogramOffset(period, false);
+        int[] scores = new int[(int) Math.min(n, getGames(period))];
+        int count = 0;
+
+        for (int score = MAX_SCORE; score >= 0 && count < scores.length; score--)
+            for (long games = (long) LONGS.getVolatile(buffer, offset + score * Long.BYTES);
+                 games > 0 && count < scores.length; games--)
+                scores[count++] = score;
+
+        return scores;
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    private long countFrom(int histogramOffset, int firstScore) {
+
+        long games = 0;
+
+        for (int score = firstScore; score <= MAX_SCORE; score++)
+            games += (long) LONGS.getVolatile(buffer, histogramOffset + score * Long.BYTES);
+
+        return games;
+    }
+
+    // Histogram of period, or -1 when its slot holds another period. When create is set, a slot holding an older
+    // period is cleared and taken over; a slot holding a newer one is never given back to an older period.
+    private int periodHistogramOffset(long period, boolean create) {
+
+        int slotOffset = periodsOffset + (int) Math.floorMod(period, (long) periodSlots) * PERIOD_SLOT_SIZE;
+        long slotPeriod = (long) LONGS.getVolatile(buffer, slotOffset);
+
+        if (slotPeriod != period && !(create && slotPeriod < period && startPeriod(slotOffset, period)))
+            return -1;
+
+        return slotOffset + Long.BYTES;
+    }
+
+    // True when the slot holds period afterwards
+    private synchronized boolean startPeriod(int slotOffset, long period) {
+
+        long slotPeriod = (long) LONGS.getVolatile(buffer, slotOffset);
+
+        if (slotPeriod >= period)
+            return slotPeriod == period;
+
+        for (int score = 0; score <= MAX_SCORE; score++)
+            LONGS.setVolatile(buffer, slotOffset + Long.BYTES + score * Long.BYTES, 0L);
+
+        LONGS.setVolatile(buffer, slotOffset, period);
+        return true;
+    }
+
+    private synchronized void insert(int score, long seed, long timeMillis) {
+
+        int count = getEntryCount();
+
+        if (count == topK && score < threshold)
+            return;
+
+        int index = Math.min(count, topK - 1);
+
+        // Shift lower scores down one place; ties keep the earlier game ahead
+        while (index > 0 && getEntryScore(index - 1) < score) {
+            copyEntry(index - 1, index);
+            index--;
+        }
+
+        int offset = entriesOffset + index * ENTRY_SIZE;
+
+        buffer.putLong(offset, score).putLong(offset + Long.BYTES, seed).putLong(offset + 2 * Long.BYTES, timeMillis);
+
+        if (count < topK)
+            buffer.putInt(ENTRY_COUNT_OFFSET, ++count);
+
+        if (count == topK)
+            threshold = getEntryScore(topK - 1) + 1;
+    }
+
+    private void copyEntry(int from, int to) {
+
+        for (int i = 0; i < ENTRY_SIZE; i += Long.BYTES)
+            buffer.putLong(entriesOffset + to * ENTRY_SIZE + i, buffer.getLong(entriesOffset + from * ENTRY_SIZE + i));
+    }
+
+    // Usage: Leaderboard file [n]
+    public static void main(String[] args) throws IOException {
+
+        int n = (args.length > 1) ? Integer.parseInt(args[1]) : 10;
+
+        try (Leaderboard leaderboard = new Leaderboard(Path.of(args[0]))) {
+            long period = leaderboard.getPeriod(System.currentTimeMillis());
+
+            System.out.println("Games = " + leaderboard.getGames() + ", this period = " + leaderboard.getGames(period));
+
+            for (int i = 0; i < Math.min(n, leaderboard.getEntryCount()); i++)
+                System.out.printf("%4d. %5d  seed %d%n", i + 1, leaderboard.getEntryScore(i), leaderboard.getEntrySeed(i));
+        }
+    }
+
+}
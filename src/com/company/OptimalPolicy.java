@@ -0,0 +1,24 @@
+package com.company;
+
+final class OptimalPolicy implements DecisionPolicy {
+
+    // Properties
+    private final RerollAdvisor advisor;
+
+    // Constructor
+    OptimalPolicy(RerollAdvisor advisor) {
+        this.advisor = advisor;
+    }
+
+    // Methods
+    @Override
+    public int chooseHoldMask(Yahtzee game) {
+        return game.calculateBestHoldMask(advisor);
+    }
+
+    @Override
+    public int chooseCategory(Yahtzee game) {
+        return game.calculateBestCategory(advisor);
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.company;
+
+import java.util.Objects;
+
+// Encodes a whole Yahtzee game in two longs.
+//
+// Score word: Aces..Sixes as wide as five of their face (3, 4, 4, 5, 5, 5 bits), 3 of a kind, 4 of a kind and
+//             Chance 5 bits each (0-31), Full House and the straights 7 bits each (0-127).
+// State word: filled-category mask (14 bits), five dice (3 bits each), number of rolls (4 bits), turn count
+//             (11 bits), the turn over / game exit / game complete flags, YAHTZEE (7 bits) and the YAHTZEE bonus
+//             count (10 bits).
+//
+// Scoring the YAHTZEE bonus fills no category, so a game can go on for as many turns and bonuses as the player
+// likes. The turn count and the bonus count stop at the highest value their bits hold rather than fail.
+//
+// Every category keeps the points it was scored at, so changing the rules mid-game leaves the card alone.
+final class PackedGameState {
+
+    // Constants
+    final static int MAX_NUMBER_ROLLS = 15;
+    final static int MAX_TURN_COUNT = 0x7FF;
+    final static int MAX_YAHTZEE_BONUS_COUNT = 0x3FF;
+
+    // Highest value Full House, the straights and YAHTZEE can be scored at
+    final static int MAX_FIXED_SCORE = 127;
+
+    // Shifts within the word holding the category: the state word for YAHTZEE and the bonus, else the score word
+    private final static int[] SCORE_SHIFT = {0, 3, 7, 11, 16, 21, 26, 31, 41, 48, 55, 47, 36, 54};
+    private final static int[] SCORE_BITS = {3, 4, 4, 5, 5, 5, 5, 5, 7, 7, 7, 7, 5, 10};
+    private final static int STATE_SCORES = (1 << Yahtzee.YAHTZEE_INDEX) | (1 << Yahtzee.YAHTZEE_BONUS_INDEX);
+
+    final static int FILLED_MASK_BITS = Yahtzee.NUMBER_OF_CATEGORIES;
+    final static long FILLED_MASK = (1L << FILLED_MASK_BITS) - 1;
+
+    final static int DICE_SHIFT = FILLED_MASK_BITS;
+    final static int DIE_BITS = 3;
+    final static long DIE_MASK = (1L << DIE_BITS) - 1;
+
+    final static int ROLLS_SHIFT = DICE_SHIFT + Yahtzee.NUMBER_OF_DICE * DIE_BITS;
+    final static long ROLLS_MASK = 0xF;
+
+    final static int TURN_COUNT_SHIFT = ROLLS_SHIFT + 4;
+    final static long TURN_COUNT_MASK = MAX_TURN_COUNT;
+
+    final static long TURN_OVER_FLAG = 1L << (TURN_COUNT_SHIFT + 11);
+    final static long GAME_EXIT_FLAG = TURN_OVER_FLAG << 1;
+    final static long GAME_COMPLETE_FLAG = TURN_OVER_FLAG << 2;
+
+    private PackedGameState() {
+    }
+
+    // Methods
+    public static int filledMask(long state) {
+        return (int) (state & FILLED_MASK);
+    }
+
+    public static boolean isFilled(long state, int index) {
+        return (state & (1L << index)) != 0;
+    }
+
+    // True when the category is kept in the state word rather than the score word
+    public static boolean isStateScore(int index) {
+        return (STATE_SCORES & (1 << index)) != 0;
+    }
+
+    public static int getScore(long scores, long state, int index) {
+
+        if (!isFilled(state, index))
+            return Game.SCORE_NO_VALUE;
+
+        long word = isStateScore(index) ? state : scores;
+
+        return (int) ((word >>> SCORE_SHIFT[index]) & ((1L << SCORE_BITS[index]) - 1));
+    }
+
+    // New score or state word, whichever holds the category, with it set to value; SCORE_NO_VALUE clears it
+    public static long setScore(long word, int index, int value) {
+
+        long fieldMask = ((1L << SCORE_BITS[index]) - 1) << SCORE_SHIFT[index];
+        long field = 0;
+
+        if (value != Game.SCORE_NO_VALUE) {
+            if (index == Yahtzee.YAHTZEE_BONUS_INDEX)
+                value = Math.min(value, MAX_YAHTZEE_BONUS_COUNT);
+
+            if (value < 0 || value >= (1L << SCORE_BITS[index]))
+                throw new IllegalArgumentException("Invalid score " + value + " for category " + (index + 1));
+
+            field = value;
+        }
+
+        return (word & ~fieldMask) | (field << SCORE_SHIFT[index]);
+    }
+
+    public static long setFilled(long state, int index, boolean filled) {
+        return filled ? (state | (1L << index)) : (state & ~(1L << index));
+    }
+
+    // A die number outside 0-4 would read or overwrite the fields next to the dice
+    public static int getDie(long state, int index) {
+        return (int) ((state >>> (DICE_SHIFT + Objects.checkIndex(index, Yahtzee.NUMBER_OF_DICE) * DIE_BITS)) &
+                DIE_MASK);
+    }
+
+    public static long setDie(long state, int index, int value) {
+
+        Objects.checkIndex(index, Yahtzee.NUMBER_OF_DICE);
+
+        if (value < 0 || value > Yahtzee.MAX_NUMBER_ON_DIE)
+            throw new IllegalArgumentException("Invalid die value " + value);
+
+        int shift = DICE_SHIFT + index * DIE_BITS;
+
+        return (state & ~(DIE_MASK << shift)) | ((long) value << shift);
+    }
+
+    // Roll code of the five dice (base 6, die #1 lowest digit); every die must be rolled
+    public static int rollCode(long state) {
+
+        int rollCode = 0;
+
+        for (int i = Yahtzee.NUMBER_OF_DICE - 1; i >= 0; i--)
+            rollCode = rollCode * Yahtzee.MAX_NUMBER_ON_DIE + getDie(state, i) - 1;
+
+        return rollCode;
+    }
+
+    // Writes base-6 outcome digits into the dice not held, in order of die number
+    public static long setRolledDice(long state, int holdMask, int outcome) {
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_DICE; i++)
+            if ((holdMask & (1 << i)) == 0) {
+                state = setDie(state, i, outcome % Yahtzee.MAX_NUMBER_ON_DIE + 1);
+                outcome /= Yahtzee.MAX_NUMBER_ON_DIE;
+            }
+
+        return state;
+    }
+
+    public static int getNumberOfRolls(long state) {
+        return (int) ((state >>> ROLLS_SHIFT) & ROLLS_MASK);
+    }
+
+    public static long setNumberOfRolls(long state, int numberOfRolls) {
+
+        if (numberOfRolls < 0 || numberOfRolls > MAX_NUMBER_ROLLS)
+            throw new IllegalArgumentException("Invalid number of rolls " + numberOfRolls);
+
+        return (state & ~(ROLLS_MASK << ROLLS_SHIFT)) | ((long) numberOfRolls << ROLLS_SHIFT);
+    }
+
+    public static int getTurnCount(long state) {
+        return (int) ((state >>> TURN_COUNT_SHIFT) & TURN_COUNT_MASK);
+    }
+
+    public static long setTurnCount(long state, int turnCount) {
+
+        if (turnCount < 0)
+            throw new IllegalArgumentException("Invalid turn count " + turnCount);
+
+        return (state & ~(TURN_COUNT_MASK << TURN_COUNT_SHIFT)) |
+                ((long) Math.min(turnCount, MAX_TURN_COUNT) << TURN_COUNT_SHIFT);
+    }
+
+    public static boolean getFlag(long state, long flag) {
+        return (state & flag) != 0;
+    }
+
+    public static long setFlag(long state, long flag, boolean value) {
+        return value ? (state | flag) : (state & ~flag);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.company;
+
+import java.util.Arrays;
+
+// Millions of games held as three longs each (packed scores, packed state, dice source position).
+// A single Yahtzee view is loaded from a slot, played, and saved back.
+final class PackedGameStore {
+
+    // Properties
+    private long[] packedScores;
+    private long[] packedStates;
+    private long[] diceStates;
+    private int size = 0;
+
+    // Constructor
+    PackedGameStore(int initialCapacity) {
+        packedScores = new long[initialCapacity];
+        packedStates = new long[initialCapacity];
+        diceStates = new long[initialCapacity];
+    }
+
+    // Setters and getters
+    public int size() {
+        return size;
+    }
+
+    public long getPackedScores(int slot) {
+        return packedScores[slot];
+    }
+
+    public long getPackedState(int slot) {
+        return packedStates[slot];
+    }
+
+    // Methods
+    // Adds a copy of the game and returns its slot
+    public int add(Yahtzee game) {
+
+        if (size == packedScores.length) {
+            int capacity = Math.max(16, size * 2);
+
+            packedScores = Arrays.copyOf(packedScores, capacity);
+            packedStates = Arrays.copyOf(packedStates, capacity);
+            diceStates = Arrays.copyOf(diceStates, capacity);
+        }
+
+        save(size, game);
+
+        return size++;
+    }
+
+    public void load(int slot, Yahtzee view) {
+        view.setPackedState(packedScores[slot], packedStates[slot]);
+        view.getDiceSource().setState(diceStates[slot]);
+    }
+
+    public void save(int slot, Yahtzee view) {
+        packedScores[slot] = view.getPackedScores();
+        packedStates[slot] = view.getPackedState();
+        diceStates[slot] = view.getDiceSource().getState();
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.company;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class RerollAdvisor {
+
+    // Constants
+    final static int CACHE_SIZE = 1 << 16;
+
+    // Properties
+    private final StrategyTable table;
+    private final Yahtzee rules;
+    private final ThreadLocal<TurnEvaluator> evaluators;
+
+    // Each entry packs (state, hand, rolls left) in the high bits and the best keep + 1 in the low 16 bits
+    private final AtomicLongArray cache = new AtomicLongArray(CACHE_SIZE);
+
+    // Constructor
+    RerollAdvisor(StrategyTable table, Yahtzee rules) {
+
+        if (!table.matchesRules(rules))
+            throw new IllegalArgumentException("Strategy table was solved for different rules");
+
+        this.table = table;
+        this.rules = rules;
+        this.evaluators = ThreadLocal.withInitial(() -> new TurnEvaluator(table, rules));
+    }
+
+    // Methods
+    public StrategyTable getTable() {
+        return table;
+    }
+
+    // Hold mask (bit 0 = die #1) that maximises expected final score
+    public int bestHoldMask(int rollCode, int rollsLeft, int stateIndex) {
+
+        if (rollsLeft <= 0)
+            return Yahtzee.ALL_DICE_HELD;
+
+        int hand = DiceHands.ROLL_TO_HAND[rollCode];
+
+        return DiceHands.holdMask(rollCode, bestKeep(hand, rollsLeft, stateIndex));
+    }
+
+    public int bestKeep(int hand, int rollsLeft, int stateIndex) {
+
+        long key = ((long) stateIndex << 12) | (hand << 4) | Math.min(rollsLeft, 15);
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 48) & (CACHE_SIZE - 1);
+        long entry = cache.get(slot);
+
+        if ((entry >>> 16) == key && (entry & 0xFFFF) != 0)
+            return (int) (entry & 0xFFFF) - 1;
+
+        int keep = computeBestKeep(hand, rollsLeft, stateIndex);
+
+        cache.lazySet(slot, (key << 16) | (keep + 1));
+
+        return keep;
+    }
+
+    // Category (1-14) that maximises the score plus the expected value of the state it leads to
+    public int bestCategory(int rollCode, int stateIndex) {
+
+        return evaluators.get().bestCategory(DiceHands.ROLL_TO_HAND[rollCode], StrategyTable.filledMask(stateIndex),
+                StrategyTable.upperScore(stateIndex), StrategyTable.hasYahtzeeBonus(stateIndex),
+                table.getExpectedValue(stateIndex)) + 1;
+    }
+
+    private int computeBestKeep(int hand, int rollsLeft, int stateIndex) {
+
+        TurnEvaluator evaluator = evaluators.get();
+
+        evaluator.scoreFinalHands(StrategyTable.filledMask(stateIndex), StrategyTable.upperScore(stateIndex),
+                StrategyTable.hasYahtzeeBonus(stateIndex), table.getExpectedValue(stateIndex));
+
+        for (int roll = 1; roll < rollsLeft; roll++)
+            evaluator.rollBack();
+
+        evaluator.computeKeepValues();
+
+        int bestKeep = DiceHands.HAND_TO_KEEP[hand];
+        double best = evaluator.getKeepValue(bestKeep);
+
+        for (int i = DiceHands.HAND_KEEP_START[hand]; i < DiceHands.HAND_KEEP_START[hand + 1]; i++) {
+            int keep = DiceHands.HAND_KEEPS[i];
+
+            if (evaluator.getKeepValue(keep) > best) {
+                best = evaluator.getKeepValue(keep);
+                bestKeep = keep;
+            }
+        }
+
+        return bestKeep;
+    }
+
+}
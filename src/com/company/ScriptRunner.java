@@ -0,0 +1,102 @@
+package com.company;
+
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.NoSuchElementException;
+
+// Plays games back to back from a script of console commands until the script ends.
+// Game i rolls from its own stream of the seed, so a script replays the same way every time.
+final class ScriptRunner {
+
+    // Constants
+    final static int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    // Properties
+    private final CommandReader input;
+    private final PrintStream outStream;
+    private final long seed;
+    private long games;
+    private long completedGames;
+    private long totalScore;
+
+    // Constructor
+    ScriptRunner(CommandReader input, PrintStream outStream, long seed) {
+        this.input = input;
+        this.outStream = outStream;
+        this.seed = seed;
+    }
+
+    // Setters and getters
+    public long getGames() {
+        return games;
+    }
+
+    public long getCompletedGames() {
+        return completedGames;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    // Methods
+    // Plays until the script ends; a game the script stops in the middle of is counted but not completed
+    public void run() {
+
+        Yahtzee game = new Yahtzee(seed);
+
+        while (input.hasNextLine()) {
+            game.reset();
+            game.setSeed(SplitMixDiceSource.streamSeed(seed, games));
+            games++;
+
+            try {
+                CSC151FinalProject.playGame(game, input, outStream);
+            } catch (NoSuchElementException ex) {
+                break;
+            }
+
+            game.displayScoreSheet(outStream);
+
+            if (game.isGameComplete()) {
+                completedGames++;
+                totalScore += game.calculateGrandTotal();
+            }
+        }
+
+        outStream.flush();
+    }
+
+    // Usage: ScriptRunner script|- [seed] [output file|-]; without an output file the screens are discarded
+    public static void main(String[] args) throws Exception {
+
+        InputStream in = (args.length == 0 || args[0].equals("-")) ? System.in : new FileInputStream(args[0]);
+        long seed = (args.length > 1) ? Long.parseLong(args[1]) : System.nanoTime();
+        OutputStream out = (args.length < 3) ? OutputStream.nullOutputStream() :
+                args[2].equals("-") ? System.out : new FileOutputStream(args[2]);
+
+        try (CommandReader input = new CommandReader(in);
+             PrintStream outStream = new PrintStream(new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE), false)) {
+            ScriptRunner runner = new ScriptRunner(input, outStream, seed);
+            long startTime = System.nanoTime();
+
+            runner.run();
+
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            System.err.printf("Games = %d (completed %d, mean score %.2f), commands = %d, seed = %d%n",
+                    runner.getGames(), runner.getCompletedGames(),
+                    (runner.getCompletedGames() == 0) ? 0.0 : (double) runner.getTotalScore() / runner.getCompletedGames(),
+                    input.getLines(), seed);
+            System.err.printf("Commands per second = %.0f%n", input.getLines() / seconds);
+
+            if (input.ioException() != null)
+                System.err.println("Script read failed: " + input.ioException());
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.company;
+
+final class SimulationResult {
+
+    // Properties
+    private long games = 0;
+    private long totalScore = 0;
+    private double totalScoreSquares = 0;
+    private int minScore = Integer.MAX_VALUE;
+    private int maxScore = Integer.MIN_VALUE;
+    private long upperBonusGames = 0;
+    private long yahtzeeBonuses = 0;
+    private long turns = 0;
+    private long elapsedNanos = 0;
+
+    // Setters and getters
+    public long getGames() {
+        return games;
+    }
+
+    public int getMinScore() {
+        return minScore;
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    public long getUpperBonusGames() {
+        return upperBonusGames;
+    }
+
+    public long getYahtzeeBonuses() {
+        return yahtzeeBonuses;
+    }
+
+    public long getTurns() {
+        return turns;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Methods
+    public void record(Yahtzee game) {
+
+        int score = game.calculateGrandTotal();
+
+        games++;
+        totalScore += score;
+        totalScoreSquares += (double) score * score;
+        minScore = Math.min(minScore, score);
+        maxScore = Math.max(maxScore, score);
+        turns += game.getTurnCount();
+
+        if (game.calculateUpperScore() >= game.getUpperBonusThreshold())
+            upperBonusGames++;
+
+        if (game.getScore(Yahtzee.YAHTZEE_BONUS_INDEX) != Game.SCORE_NO_VALUE)
+            yahtzeeBonuses += game.getScore(Yahtzee.YAHTZEE_BONUS_INDEX);
+    }
+
+    public void merge(SimulationResult other) {
+        games += other.games;
+        totalScore += other.totalScore;
+        totalScoreSquares += other.totalScoreSquares;
+        minScore = Math.min(minScore, other.minScore);
+        maxScore = Math.max(maxScore, other.maxScore);
+        upperBonusGames += other.upperBonusGames;
+        yahtzeeBonuses += other.yahtzeeBonuses;
+        turns += other.turns;
+    }
+
+    public double getMeanScore() {
+        return (games == 0) ? 0 : (double) totalScore / games;
+    }
+
+    public double getStandardDeviation() {
+
+        if (games == 0)
+            return 0;
+
+        double mean = getMeanScore();
+
+        return Math.sqrt(Math.max(0, totalScoreSquares / games - mean * mean));
+    }
+
+    public double getGamesPerSecond() {
+        return (elapsedNanos == 0) ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Games = %d%n" +
+                        "Games per second = %.0f%n" +
+                        "Mean score = %.2f (std dev %.2f)%n" +
+                        "Min score = %d%n" +
+                        "Max score = %d%n" +
+                        "Upper bonus rate = %.4f%n" +
+                        "Yahtzee bonuses per game = %.4f%n" +
+                        "Turns per game = %.3f",
+                games, getGamesPerSecond(), getMeanScore(), getStandardDeviation(), minScore, maxScore,
+                (games == 0) ? 0 : (double) upperBonusGames / games,
+                (games == 0) ? 0 : (double) yahtzeeBonuses / games,
+                (games == 0) ? 0 : (double) turns / games);
+    }
+
+}
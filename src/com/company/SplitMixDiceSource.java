@@ -0,0 +1,79 @@
+package com.company;
+
+// SplitMix64 generator; not thread-safe, so each game or thread holds its own instance
+final class SplitMixDiceSource implements DiceSource {
+
+    // Constants
+    final static long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // Number of equally likely outcomes when rolling n dice at once
+    private final static int[] OUTCOMES = {1, 6, 36, 216, 1296, 7776};
+
+    // Properties
+    private long state;
+
+    // Constructor
+    SplitMixDiceSource(long seed) {
+        setSeed(seed);
+    }
+
+    // Setters and getters
+    @Override
+    public void setSeed(long seed) {
+        state = mix64(seed);
+    }
+
+    @Override
+    public long getState() {
+        return state;
+    }
+
+    @Override
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    // Methods
+    // Seed of stream number streamIndex derived from a master seed, independent of which thread uses it
+    public static long streamSeed(long seed, long streamIndex) {
+        return mix64(seed + streamIndex * GOLDEN_GAMMA);
+    }
+
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    // Uniform in [0, bound) without modulo bias
+    public int nextInt(int bound) {
+
+        int r = (int) (nextLong() >>> 33);
+        int m = bound - 1;
+
+        for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong() >>> 33))
+            ;
+
+        return r;
+    }
+
+    @Override
+    public int rollDie() {
+        return nextInt(Yahtzee.MAX_NUMBER_ON_DIE) + 1;
+    }
+
+    @Override
+    public int rollDice(int numberOfDice) {
+        return (numberOfDice == 0) ? 0 : nextInt(OUTCOMES[numberOfDice]);
+    }
+
+    @Override
+    public DiceSource split() {
+        return new SplitMixDiceSource(nextLong());
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.company;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+final class StrategySolver {
+
+    // Constants
+    final static int MASKS_PER_TASK = 8;
+    final static double FIXED_POINT_TOLERANCE = 1e-6;
+    final static int UPPER_CATEGORIES_MASK = (1 << (Yahtzee.UPPER_CATEGORY_UPPER_BOUND_INDEX + 1)) - 1;
+
+    // Capped upper subtotals (bit n set when n is reachable) for every combination of used upper categories
+    private final static long[] REACHABLE_UPPER_SCORES = new long[UPPER_CATEGORIES_MASK + 1];
+
+    static {
+        REACHABLE_UPPER_SCORES[0] = 1L;
+
+        for (int upperMask = 1; upperMask <= UPPER_CATEGORIES_MASK; upperMask++) {
+            int category = Integer.numberOfTrailingZeros(upperMask);
+            long previous = REACHABLE_UPPER_SCORES[upperMask & ~(1 << category)];
+            long reachable = 0;
+
+            for (int upperScore = 0; upperScore < StrategyTable.UPPER_SCORE_STATES; upperScore++)
+                if ((previous & (1L << upperScore)) != 0)
+                    for (int count = 0; count <= Yahtzee.NUMBER_OF_DICE; count++)
+                        reachable |= 1L << Math.min(upperScore + count * (category + 1), Yahtzee.BONUS_THRESHOLD);
+
+            REACHABLE_UPPER_SCORES[upperMask] = reachable;
+        }
+    }
+
+    // Properties
+    private final Yahtzee rules;
+    private final StrategyTable table;
+
+    // Constructor
+    private StrategySolver(Yahtzee rules) {
+        this.rules = rules;
+        this.table = new StrategyTable(rules, FloatBuffer.allocate(StrategyTable.NUMBER_OF_STATES));
+    }
+
+    // Methods
+    public static StrategyTable solve(Yahtzee rules) {
+        return solve(rules, ForkJoinPool.commonPool());
+    }
+
+    // Solves one layer per number of used categories, from the finished game back to the first turn
+    public static StrategyTable solve(Yahtzee rules, ForkJoinPool pool) {
+
+        if (!rules.getRules().hasDefaultStructure())
+            throw new IllegalArgumentException("Only the default bonus and straight rules can be solved");
+
+        StrategySolver solver = new StrategySolver(rules);
+
+        for (int filled = Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME - 1; filled >= 0; filled--) {
+            int[] masks = masksWithFilledCount(filled);
+
+            pool.invoke(solver.new LayerTask(masks, 0, masks.length));
+        }
+
+        return solver.table;
+    }
+
+    private static int[] masksWithFilledCount(int filled) {
+
+        int count = 0;
+
+        for (int mask = 0; mask < StrategyTable.NUMBER_OF_FILLED_MASKS; mask++)
+            if (Integer.bitCount(mask) == filled)
+                count++;
+
+        int[] masks = new int[count];
+        count = 0;
+
+        for (int mask = 0; mask < StrategyTable.NUMBER_OF_FILLED_MASKS; mask++)
+            if (Integer.bitCount(mask) == filled)
+                masks[count++] = mask;
+
+        return masks;
+    }
+
+    private void solveMask(TurnEvaluator evaluator, int filledMask) {
+
+        long reachable = REACHABLE_UPPER_SCORES[filledMask & UPPER_CATEGORIES_MASK];
+        int maxNumberRolls = rules.getMaxNumberRolls();
+
+        for (int upperScore = 0; upperScore < StrategyTable.UPPER_SCORE_STATES; upperScore++) {
+            if ((reachable & (1L << upperScore)) == 0)
+                continue;
+
+            double value = evaluator.evaluateState(filledMask, upperScore, false, maxNumberRolls, 0);
+
+            table.setExpectedValue(StrategyTable.stateIndex(filledMask, upperScore, false), (float) value);
+
+            if ((filledMask & (1 << Yahtzee.YAHTZEE_INDEX)) != 0) {
+                // A Yahtzee bonus leaves the state unchanged, so its value is the fixed point of one turn
+                double previous;
+
+                do {
+                    previous = value;
+                    value = evaluator.evaluateState(filledMask, upperScore, true, maxNumberRolls, previous);
+                } while (Math.abs(value - previous) > FIXED_POINT_TOLERANCE);
+
+                table.setExpectedValue(StrategyTable.stateIndex(filledMask, upperScore, true), (float) value);
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class LayerTask extends RecursiveAction {
+
+        private final int[] masks;
+        private final int from;
+        private final int to;
+
+        LayerTask(int[] masks, int from, int to) {
+            this.masks = masks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from <= MASKS_PER_TASK) {
+                TurnEvaluator evaluator = new TurnEvaluator(table, rules);
+
+                for (int i = from; i < to; i++)
+                    solveMask(evaluator, masks[i]);
+            }
+            else {
+                int middle = (from + to) >>> 1;
+
+                invokeAll(new LayerTask(masks, from, middle), new LayerTask(masks, middle, to));
+            }
+        }
+    }
+
+}
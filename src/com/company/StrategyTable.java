@@ -0,0 +1,163 @@
+package com.company;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class StrategyTable {
+
+    // Constants
+    final static int MAGIC = 0x59545354;
+    final static int VERSION = 1;
+    final static int HEADER_SIZE = 64;
+
+    final static int UPPER_SCORE_STATES = Yahtzee.BONUS_THRESHOLD + 1;
+    final static int NUMBER_OF_FILLED_MASKS = 1 << Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME;
+    final static int ALL_CATEGORIES_FILLED = NUMBER_OF_FILLED_MASKS - 1;
+    final static int NUMBER_OF_STATES = NUMBER_OF_FILLED_MASKS * UPPER_SCORE_STATES * 2;
+
+    // Properties
+    private final int maxNumberRolls;
+    private final int fullHouseScore;
+    private final int smallStraightScore;
+    private final int largeStraightScore;
+    private final int yahtzeeScore;
+    private final int yahtzeeBonusScore;
+    private final FloatBuffer values;
+
+    // Constructor
+    StrategyTable(Yahtzee rules, FloatBuffer values) {
+        this(rules.getMaxNumberRolls(), rules.getFullHouseScore(), rules.getSmallStraightScore(),
+                rules.getLargeStraightScore(), rules.getYahtzeeScore(), rules.getYahtzeeBonusScore(), values);
+    }
+
+    private StrategyTable(int maxNumberRolls, int fullHouseScore, int smallStraightScore, int largeStraightScore,
+                          int yahtzeeScore, int yahtzeeBonusScore, FloatBuffer values) {
+        this.maxNumberRolls = maxNumberRolls;
+        this.fullHouseScore = fullHouseScore;
+        this.smallStraightScore = smallStraightScore;
+        this.largeStraightScore = largeStraightScore;
+        this.yahtzeeScore = yahtzeeScore;
+        this.yahtzeeBonusScore = yahtzeeBonusScore;
+        this.values = values;
+    }
+
+    // Methods
+    public static int stateIndex(int filledMask, int upperScore, boolean yahtzeeBonus) {
+        return ((filledMask * UPPER_SCORE_STATES + Math.min(upperScore, Yahtzee.BONUS_THRESHOLD)) << 1) |
+                (yahtzeeBonus ? 1 : 0);
+    }
+
+    public static int filledMask(int stateIndex) {
+        return (stateIndex >>> 1) / UPPER_SCORE_STATES;
+    }
+
+    public static int upperScore(int stateIndex) {
+        return (stateIndex >>> 1) % UPPER_SCORE_STATES;
+    }
+
+    public static boolean hasYahtzeeBonus(int stateIndex) {
+        return (stateIndex & 1) != 0;
+    }
+
+    // State of a game in progress: categories used, upper subtotal and whether a Yahtzee was scored at full value
+    public static int stateIndex(Yahtzee game) {
+
+        return stateIndex(game.getFilledMask() & ALL_CATEGORIES_FILLED, game.calculateUpperScore(),
+                game.getYahtzeeScore() > 0 && game.getScore(Yahtzee.YAHTZEE_INDEX) == game.getYahtzeeScore());
+    }
+
+    public float getExpectedValue(int stateIndex) {
+        return values.get(stateIndex);
+    }
+
+    void setExpectedValue(int stateIndex, float value) {
+        values.put(stateIndex, value);
+    }
+
+    public int getMaxNumberRolls() {
+        return maxNumberRolls;
+    }
+
+    // The bonus and straight rules are not saved; a table is only solved for the default ones
+    public boolean matchesRules(Yahtzee game) {
+        return game.getRules().hasDefaultStructure() &&
+                maxNumberRolls == game.getMaxNumberRolls() &&
+                fullHouseScore == game.getFullHouseScore() &&
+                smallStraightScore == game.getSmallStraightScore() &&
+                largeStraightScore == game.getLargeStraightScore() &&
+                yahtzeeScore == game.getYahtzeeScore() &&
+                yahtzeeBonusScore == game.getYahtzeeBonusScore();
+    }
+
+    public void save(Path path) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + NUMBER_OF_STATES * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(maxNumberRolls).putInt(fullHouseScore)
+                .putInt(smallStraightScore).putInt(largeStraightScore).putInt(yahtzeeScore).putInt(yahtzeeBonusScore);
+
+        buffer.position(HEADER_SIZE);
+        buffer.asFloatBuffer().put(values.duplicate().clear());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.clear();
+
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+
+            channel.force(true);
+        }
+    }
+
+    // Maps a saved table read-only; the pages are shared by every process that opens the same file
+    public static StrategyTable open(Path path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_SIZE + (long) NUMBER_OF_STATES * Float.BYTES)
+                throw new IOException("Invalid strategy table size: " + path);
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                throw new IOException("Not a strategy table: " + path);
+
+            int maxNumberRolls = buffer.getInt();
+            int fullHouseScore = buffer.getInt();
+            int smallStraightScore = buffer.getInt();
+            int largeStraightScore = buffer.getInt();
+            int yahtzeeScore = buffer.getInt();
+            int yahtzeeBonusScore = buffer.getInt();
+
+            FloatBuffer values = buffer.position(HEADER_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+
+            return new StrategyTable(maxNumberRolls, fullHouseScore, smallStraightScore, largeStraightScore,
+                    yahtzeeScore, yahtzeeBonusScore, values);
+        }
+    }
+
+    // Opens the table at path when it was solved for the same rules, otherwise solves and saves it
+    public static StrategyTable openOrSolve(Path path, Yahtzee rules) throws IOException {
+
+        if (Files.exists(path)) {
+            StrategyTable table = open(path);
+
+            if (table.matchesRules(rules))
+                return table;
+        }
+
+        StrategyTable table = StrategySolver.solve(rules);
+        table.save(path);
+
+        return table;
+    }
+
+}
@@ -0,0 +1,472 @@
+package com.company;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+// Round-robin or Swiss tournament between decision policies.
+//
+// A match is many games where both policies play the same seeds, and the policy that wins more games wins the match.
+// Game i of a round uses the same seed in every match of that round (common random numbers), so the difference
+// between two policies is measured on the same dice and needs far fewer games to be significant.
+//
+// Matches are split into tasks of GAMES_PER_TASK games on a work-stealing pool, so long and short matches balance
+// across the cores. Each result goes to the listener as soon as its match finishes.
+final class Tournament {
+
+    // Constants
+    final static int GAMES_PER_TASK = 64;
+    final static double MATCH_WIN_POINTS = 1;
+    final static double MATCH_DRAW_POINTS = 0.5;
+
+    // Properties
+    private final int gamesPerMatch;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final List<Supplier<DecisionPolicy>> policyFactories = new ArrayList<>();
+    private final List<Standing> standings = new ArrayList<>();
+    private MatchListener listener;
+
+    // Constructor
+    Tournament(int gamesPerMatch, long seed) {
+        this(gamesPerMatch, seed, ForkJoinPool.commonPool());
+    }
+
+    Tournament(int gamesPerMatch, long seed, ForkJoinPool pool) {
+
+        if (gamesPerMatch < 1)
+            throw new IllegalArgumentException("A match needs at least one game");
+
+        this.gamesPerMatch = gamesPerMatch;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    // Setters and getters
+    public int getGamesPerMatch() {
+        return gamesPerMatch;
+    }
+
+    public int getEntrantCount() {
+        return standings.size();
+    }
+
+    public String getName(int entrant) {
+        return standings.get(entrant).name;
+    }
+
+    public MatchListener getListener() {
+        return listener;
+    }
+
+    // Called from the pool's threads, one match at a time, as each match finishes
+    public void setListener(MatchListener listener) {
+        this.listener = listener;
+    }
+
+    // Methods
+    // Adds an entrant and returns its number; every task gets its own policy from the factory
+    public int addEntrant(String name, Supplier<DecisionPolicy> policyFactory) {
+
+        policyFactories.add(policyFactory);
+        standings.add(new Standing(standings.size(), name));
+
+        return standings.size() - 1;
+    }
+
+    // Every entrant plays every other entrant once, all matches in a single round
+    public List<Standing> runRoundRobin() {
+
+        List<int[]> pairings = new ArrayList<>();
+
+        for (int a = 0; a < getEntrantCount(); a++)
+            for (int b = a + 1; b < getEntrantCount(); b++)
+                pairings.add(new int[] {a, b});
+
+        playRound(0, pairings);
+
+        return getStandings();
+    }
+
+    // Each round pairs entrants with close standings who have not met yet; with an odd number of entrants the
+    // lowest entrant without a bye sits the round out for a match win
+    public List<Standing> runSwiss(int rounds) {
+
+        boolean[][] played = new boolean[getEntrantCount()][getEntrantCount()];
+
+        for (int round = 0; round < rounds; round++) {
+            List<Standing> order = getStandings();
+            boolean[] paired = new boolean[getEntrantCount()];
+            List<int[]> pairings = new ArrayList<>();
+
+            if (order.size() % 2 == 1)
+                for (int i = order.size() - 1; i >= 0; i--)
+                    if (!order.get(i).hadBye) {
+                        synchronized (standings) {
+                            order.get(i).recordBye();
+                        }
+
+                        paired[order.get(i).entrant] = true;
+                        break;
+                    }
+
+            for (int i = 0; i < order.size(); i++) {
+                int a = order.get(i).entrant;
+
+                if (paired[a])
+                    continue;
+
+                int opponent = -1;
+
+                for (int j = i + 1; j < order.size(); j++) {
+                    int b = order.get(j).entrant;
+
+                    if (!paired[b] && (opponent < 0 || !played[a][b] && played[a][opponent]))
+                        opponent = b;
+                }
+
+                if (opponent < 0)
+                    break;
+
+                paired[a] = true;
+                paired[opponent] = true;
+                played[a][opponent] = true;
+                played[opponent][a] = true;
+                pairings.add(new int[] {a, opponent});
+            }
+
+            playRound(round, pairings);
+        }
+
+        return getStandings();
+    }
+
+    // Entrants by points, then by mean score
+    public List<Standing> getStandings() {
+
+        synchronized (standings) {
+            List<Standing> order = new ArrayList<>(standings);
+
+            order.sort(Comparator.comparingDouble(Standing::getPoints).thenComparingDouble(Standing::getMeanScore)
+                    .reversed());
+
+            return order;
+        }
+    }
+
+    private void playRound(int round, List<int[]> pairings) {
+
+        MatchTask[] matches = new MatchTask[pairings.size()];
+
+        for (int i = 0; i < matches.length; i++)
+            matches[i] = new MatchTask(round, pairings.get(i)[0], pairings.get(i)[1]);
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(matches);
+            }
+        });
+    }
+
+    private void recordMatch(MatchResult result) {
+
+        synchronized (standings) {
+            standings.get(result.getEntrantA()).record(result, result.getWinsA(), result.getTotalA(),
+                    result.getWinner() == result.getEntrantA());
+            standings.get(result.getEntrantB()).record(result, result.getWinsB(), result.getTotalB(),
+                    result.getWinner() == result.getEntrantB());
+
+            if (listener != null)
+                listener.matchFinished(result);
+        }
+    }
+
+    interface MatchListener {
+
+        void matchFinished(MatchResult result);
+
+    }
+
+    @SuppressWarnings("serial")
+    private final class MatchTask extends RecursiveAction {
+
+        private final int round;
+        private final int entrantA;
+        private final int entrantB;
+
+        MatchTask(int round, int entrantA, int entrantB) {
+            this.round = round;
+            this.entrantA = entrantA;
+            this.entrantB = entrantB;
+        }
+
+        @Override
+        protected void compute() {
+            recordMatch(new GamesTask(round, entrantA, entrantB, 0, gamesPerMatch).invoke());
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class GamesTask extends RecursiveTask<MatchResult> {
+
+        private final int round;
+        private final int entrantA;
+        private final int entrantB;
+        private final int from;
+        private final int to;
+
+        GamesTask(int round, int entrantA, int entrantB, int from, int to) {
+            this.round = round;
+            this.entrantA = entrantA;
+            this.entrantB = entrantB;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected MatchResult compute() {
+
+            if (to - from > GAMES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                GamesTask second = new GamesTask(round, entrantA, entrantB, middle, to);
+
+                second.fork();
+
+                MatchResult result = new GamesTask(round, entrantA, entrantB, from, middle).compute();
+
+                result.merge(second.join());
+
+                return result;
+            }
+
+            MatchResult result = new MatchResult(round, entrantA, entrantB);
+            DecisionPolicy policyA = policyFactories.get(entrantA).get();
+            DecisionPolicy policyB = policyFactories.get(entrantB).get();
+            Yahtzee game = new Yahtzee(seed);
+
+            for (int i = from; i < to; i++) {
+                long gameSeed = SplitMixDiceSource.streamSeed(seed, (long) round * gamesPerMatch + i);
+
+                result.record(play(game, policyA, gameSeed), play(game, policyB, gameSeed));
+            }
+
+            return result;
+        }
+
+        private int play(Yahtzee game, DecisionPolicy policy, long gameSeed) {
+
+            game.reset();
+            game.setSeed(gameSeed);
+            BatchSimulator.playGame(game, policy);
+
+            return game.calculateGrandTotal();
+        }
+    }
+
+    // Paired games of one match; the difference statistics are of A's score minus B's on the same seed
+    static final class MatchResult {
+
+        private final int round;
+        private final int entrantA;
+        private final int entrantB;
+        private long games;
+        private long winsA;
+        private long winsB;
+        private long totalA;
+        private long totalB;
+        private double differenceSquares;
+
+        MatchResult(int round, int entrantA, int entrantB) {
+            this.round = round;
+            this.entrantA = entrantA;
+            this.entrantB = entrantB;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public int getEntrantA() {
+            return entrantA;
+        }
+
+        public int getEntrantB() {
+            return entrantB;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getWinsA() {
+            return winsA;
+        }
+
+        public long getWinsB() {
+            return winsB;
+        }
+
+        public long getTies() {
+            return games - winsA - winsB;
+        }
+
+        public long getTotalA() {
+            return totalA;
+        }
+
+        public long getTotalB() {
+            return totalB;
+        }
+
+        public void record(int scoreA, int scoreB) {
+
+            games++;
+            totalA += scoreA;
+            totalB += scoreB;
+            differenceSquares += (double) (scoreA - scoreB) * (scoreA - scoreB);
+
+            if (scoreA > scoreB)
+                winsA++;
+            else if (scoreB > scoreA)
+                winsB++;
+        }
+
+        public void merge(MatchResult other) {
+            games += other.games;
+            winsA += other.winsA;
+            winsB += other.winsB;
+            totalA += other.totalA;
+            totalB += other.totalB;
+            differenceSquares += other.differenceSquares;
+        }
+
+        // Entrant that won more games, or -1 for a drawn match
+        public int getWinner() {
+            return (winsA > winsB) ? entrantA : (winsB > winsA) ? entrantB : -1;
+        }
+
+        public double getMeanDifference() {
+            return (games == 0) ? 0 : (double) (totalA - totalB) / games;
+        }
+
+        // Standard error of the mean paired difference
+        public double getStandardError() {
+
+            if (games < 2)
+                return 0;
+
+            double mean = getMeanDifference();
+            double variance = Math.max(0, (differenceSquares - games * mean * mean) / (games - 1));
+
+            return Math.sqrt(variance / games);
+        }
+
+        public double getZScore() {
+            return (getStandardError() == 0) ? 0 : getMeanDifference() / getStandardError();
+        }
+
+    }
+
+    static final class Standing {
+
+        private final int entrant;
+        private final String name;
+        private int matches;
+        private double points;
+        private long games;
+        private long gameWins;
+        private long totalScore;
+        private boolean hadBye;
+
+        Standing(int entrant, String name) {
+            this.entrant = entrant;
+            this.name = name;
+        }
+
+        public int getEntrant() {
+            return entrant;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getMatches() {
+            return matches;
+        }
+
+        public double getPoints() {
+            return points;
+        }
+
+        public long getGameWins() {
+            return gameWins;
+        }
+
+        public double getMeanScore() {
+            return (games == 0) ? 0 : (double) totalScore / games;
+        }
+
+        private void record(MatchResult result, long wins, long total, boolean won) {
+
+            matches++;
+            points += won ? MATCH_WIN_POINTS : (result.getWinner() < 0) ? MATCH_DRAW_POINTS : 0;
+            games += result.getGames();
+            gameWins += wins;
+            totalScore += total;
+        }
+
+        private void recordBye() {
+            hadBye = true;
+            points += MATCH_WIN_POINTS;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s points = %4.1f, matches = %d, game wins = %d, mean score = %.2f", name, points,
+                    matches, gameWins, getMeanScore());
+        }
+
+    }
+
+    // Usage: Tournament [round-robin|swiss:rounds] [games per match] [seed] [policy ...]
+    public static void main(String[] args) throws Exception {
+
+        String format = (args.length > 0) ? args[0] : "round-robin";
+        int gamesPerMatch = (args.length > 1) ? Integer.parseInt(args[1]) : 10_000;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : System.nanoTime();
+        String[] policyNames = (args.length > 3) ? Arrays.copyOfRange(args, 3, args.length) :
+                new String[] {"greedy", "optimal"};
+
+        Tournament tournament = new Tournament(gamesPerMatch, seed);
+
+        for (int i = 0; i < policyNames.length; i++)
+            tournament.addEntrant(policyNames[i] + "#" + (i + 1), BatchSimulator.policyFactory(policyNames[i]));
+
+        tournament.setListener(result -> System.out.printf("Round %d: %s %d - %d %s (ties %d), " +
+                        "mean difference = %.2f +/- %.2f, z = %.1f%n", result.getRound() + 1,
+                tournament.getName(result.getEntrantA()), result.getWinsA(), result.getWinsB(),
+                tournament.getName(result.getEntrantB()), result.getTies(), result.getMeanDifference(),
+                result.getStandardError(), result.getZScore()));
+
+        System.out.println("Format = " + format + ", games per match = " + gamesPerMatch + ", seed = " + seed);
+
+        long startTime = System.nanoTime();
+        List<Standing> standings = format.startsWith("swiss") ?
+                tournament.runSwiss(format.contains(":") ? Integer.parseInt(format.substring(6)) :
+                        Math.max(1, 32 - Integer.numberOfLeadingZeros(tournament.getEntrantCount() - 1))) :
+                tournament.runRoundRobin();
+
+        System.out.printf("Standings after %.1f s:%n", (System.nanoTime() - startTime) / 1e9);
+
+        for (int i = 0; i < standings.size(); i++)
+            System.out.printf("%3d. %s%n", i + 1, standings.get(i));
+    }
+
+}
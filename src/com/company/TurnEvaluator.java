@@ -0,0 +1,140 @@
+package com.company;
+
+final class TurnEvaluator {
+
+    // Properties
+    private final StrategyTable table;
+    private final int[] scoreTable;
+    private final int yahtzeeScore;
+    private final int yahtzeeBonusScore;
+    private final double[] handValue = new double[DiceHands.NUMBER_OF_HANDS];
+    private final double[] keepValue = new double[DiceHands.NUMBER_OF_KEEPS];
+
+    // Constructor
+    TurnEvaluator(StrategyTable table, Yahtzee rules) {
+        this.table = table;
+        this.scoreTable = rules.getScoreTable().clone();
+        this.yahtzeeScore = rules.getYahtzeeScore();
+        this.yahtzeeBonusScore = rules.getYahtzeeBonusScore();
+    }
+
+    // Methods
+    public double getHandValue(int hand) {
+        return handValue[hand];
+    }
+
+    public double getKeepValue(int keep) {
+        return keepValue[keep];
+    }
+
+    // Value of every final hand: the best category score plus the expected value of the state it leads to.
+    // selfValue is the value of this state, earned again after taking a Yahtzee bonus.
+    public void scoreFinalHands(int filledMask, int upperScore, boolean yahtzeeBonus, double selfValue) {
+
+        for (int hand = 0; hand < DiceHands.NUMBER_OF_HANDS; hand++)
+            handValue[hand] = bestCategoryValue(hand, filledMask, upperScore, yahtzeeBonus, selfValue);
+    }
+
+    public double bestCategoryValue(int hand, int filledMask, int upperScore, boolean yahtzeeBonus, double selfValue) {
+
+        int handOffset = hand * Yahtzee.NUMBER_OF_CATEGORIES;
+        double best = Double.NEGATIVE_INFINITY;
+
+        if (yahtzeeBonus && scoreTable[handOffset + Yahtzee.YAHTZEE_INDEX] > 0)
+            best = yahtzeeBonusScore + selfValue;
+
+        for (int category = 0; category < Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME; category++)
+            if ((filledMask & (1 << category)) == 0)
+                best = Math.max(best, categoryValue(hand, category, filledMask, upperScore, yahtzeeBonus));
+
+        return best;
+    }
+
+    // Category index (0-13) that maximises score plus future expected value for the hand
+    public int bestCategory(int hand, int filledMask, int upperScore, boolean yahtzeeBonus, double selfValue) {
+
+        int handOffset = hand * Yahtzee.NUMBER_OF_CATEGORIES;
+        int bestCategory = Yahtzee.YAHTZEE_BONUS_INDEX;
+        double best = Double.NEGATIVE_INFINITY;
+
+        if (yahtzeeBonus && scoreTable[handOffset + Yahtzee.YAHTZEE_INDEX] > 0)
+            best = yahtzeeBonusScore + selfValue;
+
+        for (int category = 0; category < Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME; category++)
+            if ((filledMask & (1 << category)) == 0) {
+                double value = categoryValue(hand, category, filledMask, upperScore, yahtzeeBonus);
+
+                if (value > best) {
+                    best = value;
+                    bestCategory = category;
+                }
+            }
+
+        return bestCategory;
+    }
+
+    private double categoryValue(int hand, int category, int filledMask, int upperScore, boolean yahtzeeBonus) {
+
+        int score = scoreTable[hand * Yahtzee.NUMBER_OF_CATEGORIES + category];
+        int nextUpperScore = upperScore;
+        boolean nextYahtzeeBonus = yahtzeeBonus;
+
+        if (category <= Yahtzee.UPPER_CATEGORY_UPPER_BOUND_INDEX) {
+            nextUpperScore = Math.min(upperScore + score, Yahtzee.BONUS_THRESHOLD);
+
+            if (upperScore < Yahtzee.BONUS_THRESHOLD && nextUpperScore >= Yahtzee.BONUS_THRESHOLD)
+                score += Yahtzee.BONUS_SCORE;
+        }
+        else if (category == Yahtzee.YAHTZEE_INDEX)
+            nextYahtzeeBonus = yahtzeeScore > 0 && score == yahtzeeScore;
+
+        return score + table.getExpectedValue(
+                StrategyTable.stateIndex(filledMask | (1 << category), nextUpperScore, nextYahtzeeBonus));
+    }
+
+    // Steps back one roll: each keep is worth the average over its outcomes, each hand its best keep
+    public void rollBack() {
+
+        computeKeepValues();
+
+        for (int hand = 0; hand < DiceHands.NUMBER_OF_HANDS; hand++) {
+            double best = Double.NEGATIVE_INFINITY;
+
+            for (int i = DiceHands.HAND_KEEP_START[hand]; i < DiceHands.HAND_KEEP_START[hand + 1]; i++)
+                best = Math.max(best, keepValue[DiceHands.HAND_KEEPS[i]]);
+
+            handValue[hand] = best;
+        }
+    }
+
+    public void computeKeepValues() {
+
+        for (int keep = 0; keep < DiceHands.NUMBER_OF_KEEPS; keep++) {
+            double value = 0;
+
+            for (int i = DiceHands.KEEP_OUTCOME_START[keep]; i < DiceHands.KEEP_OUTCOME_START[keep + 1]; i++)
+                value += DiceHands.KEEP_OUTCOME_PROBABILITY[i] * handValue[DiceHands.KEEP_OUTCOME_HAND[i]];
+
+            keepValue[keep] = value;
+        }
+    }
+
+    // Expected value of a state at the start of a turn, before the first roll
+    public double evaluateState(int filledMask, int upperScore, boolean yahtzeeBonus, int maxNumberRolls,
+                                double selfValue) {
+
+        scoreFinalHands(filledMask, upperScore, yahtzeeBonus, selfValue);
+
+        for (int roll = 1; roll < maxNumberRolls; roll++)
+            rollBack();
+
+        double value = 0;
+
+        for (int i = DiceHands.KEEP_OUTCOME_START[DiceHands.EMPTY_KEEP];
+             i < DiceHands.KEEP_OUTCOME_START[DiceHands.EMPTY_KEEP + 1]; i++)
+            value += DiceHands.KEEP_OUTCOME_PROBABILITY[i] * handValue[DiceHands.KEEP_OUTCOME_HAND[i]];
+
+        return value;
+    }
+
+}
@@ -0,0 +1,478 @@
+package com.company;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Ruleset shared by every game played under it; setters on Yahtzee copy the rules on write.
+//
+// The first game to score under a ruleset compiles it into lookup tables: the score of every category for every
+// distinct hand, the joker scores and the categories each hand may be scored in. Turns then look up instead of
+// checking rules. Rulesets that score alike share the tables of the presets.
+final class YahtzeeRules {
+
+    // Constants
+    final static int DEFAULT_FULL_HOUSE_SCORE = 25;
+    final static int DEFAULT_SMALL_STRAIGHT_SCORE = 30;
+    final static int DEFAULT_LARGE_STRAIGHT_SCORE = 40;
+    final static int DEFAULT_YAHTZEE_SCORE = 50;
+    final static int DEFAULT_YAHTZEE_BONUS_SCORE = 100;
+    final static int DEFAULT_MAX_NUMBER_ROLLS = 3;
+
+    // Straights: only the run of consecutive numbers ending at the highest die counts (this game's rule), any run
+    // counts, or exactly 1-2-3-4-5 (small) and 2-3-4-5-6 (large) as in Yatzy
+    final static int STRAIGHT_RUN_TO_HIGHEST = 0;
+    final static int STRAIGHT_ANY_RUN = 1;
+    final static int STRAIGHT_FIXED = 2;
+
+    // 3 and 4 of a kind score all five dice, or only the matching dice with Full House scoring all five as in Yatzy
+    final static int KIND_SCORING_ALL_DICE = 0;
+    final static int KIND_SCORING_MATCHING_DICE = 1;
+
+    // Further YAHTZEEs: taken in the YAHTZEE BONUS category on a turn that fills nothing else (this game's rule),
+    // scored automatically with the official forced Joker rule, or worth nothing extra as in Yatzy
+    final static int YAHTZEE_BONUS_CATEGORY = 0;
+    final static int YAHTZEE_BONUS_FORCED_JOKER = 1;
+    final static int YAHTZEE_BONUS_NONE = 2;
+
+    final static String RULES_PROPERTY = "yahtzee.rules";
+
+    // Values that make up a ruleset, as getValues lists them
+    final static int NUMBER_OF_VALUES = 11;
+
+    final static int FULL_CARD_MASK = (1 << Yahtzee.NUMBER_OF_CATEGORIES_TO_COMPLETE_GAME) - 1;
+    final static int UPPER_CATEGORIES_MASK = (1 << (Yahtzee.UPPER_CATEGORY_UPPER_BOUND_INDEX + 1)) - 1;
+    final static int LOWER_CATEGORIES_MASK = FULL_CARD_MASK & ~UPPER_CATEGORIES_MASK;
+    final static int YAHTZEE_BONUS_MASK = 1 << Yahtzee.YAHTZEE_BONUS_INDEX;
+
+    final static YahtzeeRules DEFAULT = new YahtzeeRules(DEFAULT_FULL_HOUSE_SCORE, DEFAULT_SMALL_STRAIGHT_SCORE,
+            DEFAULT_LARGE_STRAIGHT_SCORE, DEFAULT_YAHTZEE_SCORE, DEFAULT_YAHTZEE_BONUS_SCORE, DEFAULT_MAX_NUMBER_ROLLS);
+
+    // Official Yahtzee: straights anywhere in the dice and the forced Joker rule
+    final static YahtzeeRules FORCED_JOKER = DEFAULT.withStraightRule(STRAIGHT_ANY_RUN)
+            .withYahtzeeBonusRule(YAHTZEE_BONUS_FORCED_JOKER);
+
+    // Scandinavian Yatzy on this scorecard: 50 bonus for 63 in the upper section, fixed straights worth their dice,
+    // of a kind counting the matching dice, Full House counting all five, and no YAHTZEE bonus
+    final static YahtzeeRules YATZY = DEFAULT.withFullHouseScore(0).withSmallStraightScore(15)
+            .withLargeStraightScore(20).withYahtzeeBonusScore(0).withUpperBonusScore(50)
+            .withStraightRule(STRAIGHT_FIXED).withKindScoring(KIND_SCORING_MATCHING_DICE)
+            .withYahtzeeBonusRule(YAHTZEE_BONUS_NONE);
+
+    private final static String[] PRESET_NAMES = {"standard", "forced-joker", "yatzy"};
+    private final static YahtzeeRules[] PRESETS = {DEFAULT, FORCED_JOKER, YATZY};
+
+    static {
+        for (YahtzeeRules preset : PRESETS)
+            preset.tables = new ScoringTables(preset);
+    }
+
+    // Properties
+    private final int fullHouseScore;
+    private final int smallStraightScore;
+    private final int largeStraightScore;
+    private final int yahtzeeScore;
+    private final int yahtzeeBonusScore;
+    private final int maxNumberRolls;
+    private final int upperBonusThreshold;
+    private final int upperBonusScore;
+    private final int straightRule;
+    private final int kindScoring;
+    private final int yahtzeeBonusRule;
+
+    private volatile ScoringTables tables;
+
+    // Constructor
+    YahtzeeRules(int fullHouseScore, int smallStraightScore, int largeStraightScore, int yahtzeeScore,
+                 int yahtzeeBonusScore, int maxNumberRolls) {
+        this(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore, maxNumberRolls,
+                Yahtzee.BONUS_THRESHOLD, Yahtzee.BONUS_SCORE, STRAIGHT_RUN_TO_HIGHEST, KIND_SCORING_ALL_DICE,
+                YAHTZEE_BONUS_CATEGORY);
+    }
+
+    private YahtzeeRules(int fullHouseScore, int smallStraightScore, int largeStraightScore, int yahtzeeScore,
+                         int yahtzeeBonusScore, int maxNumberRolls, int upperBonusThreshold, int upperBonusScore,
+                         int straightRule, int kindScoring, int yahtzeeBonusRule) {
+
+        if (maxNumberRolls > PackedGameState.MAX_NUMBER_ROLLS)
+            throw new IllegalArgumentException("At most " + PackedGameState.MAX_NUMBER_ROLLS + " rolls per turn");
+
+        if (straightRule < STRAIGHT_RUN_TO_HIGHEST || straightRule > STRAIGHT_FIXED)
+            throw new IllegalArgumentException("Invalid straight rule " + straightRule);
+
+        if (kindScoring < KIND_SCORING_ALL_DICE || kindScoring > KIND_SCORING_MATCHING_DICE)
+            throw new IllegalArgumentException("Invalid kind scoring " + kindScoring);
+
+        if (yahtzeeBonusRule < YAHTZEE_BONUS_CATEGORY || yahtzeeBonusRule > YAHTZEE_BONUS_NONE)
+            throw new IllegalArgumentException("Invalid YAHTZEE bonus rule " + yahtzeeBonusRule);
+
+        this.fullHouseScore = checkFixedScore(fullHouseScore);
+        this.smallStraightScore = checkFixedScore(smallStraightScore);
+        this.largeStraightScore = checkFixedScore(largeStraightScore);
+        this.yahtzeeScore = checkFixedScore(yahtzeeScore);
+        this.yahtzeeBonusScore = yahtzeeBonusScore;
+        this.maxNumberRolls = maxNumberRolls;
+        this.upperBonusThreshold = upperBonusThreshold;
+        this.upperBonusScore = upperBonusScore;
+        this.straightRule = straightRule;
+        this.kindScoring = kindScoring;
+        this.yahtzeeBonusRule = yahtzeeBonusRule;
+    }
+
+    // Setters and getters
+    public int getFullHouseScore() {
+        return fullHouseScore;
+    }
+
+    public YahtzeeRules withFullHouseScore(int fullHouseScore) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getSmallStraightScore() {
+        return smallStraightScore;
+    }
+
+    public YahtzeeRules withSmallStraightScore(int smallStraightScore) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getLargeStraightScore() {
+        return largeStraightScore;
+    }
+
+    public YahtzeeRules withLargeStraightScore(int largeStraightScore) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getYahtzeeScore() {
+        return yahtzeeScore;
+    }
+
+    public YahtzeeRules withYahtzeeScore(int yahtzeeScore) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getYahtzeeBonusScore() {
+        return yahtzeeBonusScore;
+    }
+
+    public YahtzeeRules withYahtzeeBonusScore(int yahtzeeBonusScore) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getMaxNumberRolls() {
+        return maxNumberRolls;
+    }
+
+    public YahtzeeRules withMaxNumberRolls(int maxNumberRolls) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getUpperBonusThreshold() {
+        return upperBonusThreshold;
+    }
+
+    public YahtzeeRules withUpperBonusThreshold(int upperBonusThreshold) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getUpperBonusScore() {
+        return upperBonusScore;
+    }
+
+    public YahtzeeRules withUpperBonusScore(int upperBonusScore) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getStraightRule() {
+        return straightRule;
+    }
+
+    public YahtzeeRules withStraightRule(int straightRule) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getKindScoring() {
+        return kindScoring;
+    }
+
+    public YahtzeeRules withKindScoring(int kindScoring) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    public int getYahtzeeBonusRule() {
+        return yahtzeeBonusRule;
+    }
+
+    public YahtzeeRules withYahtzeeBonusRule(int yahtzeeBonusRule) {
+        return new YahtzeeRules(fullHouseScore, smallStraightScore, largeStraightScore, yahtzeeScore, yahtzeeBonusScore,
+                maxNumberRolls, upperBonusThreshold, upperBonusScore, straightRule, kindScoring, yahtzeeBonusRule);
+    }
+
+    // Methods
+    private static int checkFixedScore(int score) {
+
+        if (score < 0 || score > PackedGameState.MAX_FIXED_SCORE)
+            throw new IllegalArgumentException("Scores range from 0 to " + PackedGameState.MAX_FIXED_SCORE);
+
+        return score;
+    }
+
+    // Preset named standard, forced-joker or yatzy
+    public static YahtzeeRules forName(String name) {
+
+        for (int i = 0; i < PRESETS.length; i++)
+            if (PRESET_NAMES[i].equalsIgnoreCase(name))
+                return PRESETS[i];
+
+        throw new IllegalArgumentException("Unknown rules: " + name + " (expected one of " +
+                String.join(", ", PRESET_NAMES) + ")");
+    }
+
+    // Preset named by the yahtzee.rules system property, standard when it is not set
+    public static YahtzeeRules fromSystemProperty() {
+        return forName(System.getProperty(RULES_PROPERTY, PRESET_NAMES[0]));
+    }
+
+    // Preset number 0 (standard), 1 (forced-joker) or 2 (yatzy)
+    public static YahtzeeRules preset(int number) {
+        return PRESETS[Objects.checkIndex(number, PRESETS.length)];
+    }
+
+    // Number of the preset these rules equal in every value, or -1 when they are not a preset
+    public int getPresetNumber() {
+
+        for (int i = 0; i < PRESETS.length; i++)
+            if (PRESETS[i].scoresLike(this) && PRESETS[i].yahtzeeBonusScore == yahtzeeBonusScore &&
+                    PRESETS[i].maxNumberRolls == maxNumberRolls &&
+                    PRESETS[i].upperBonusThreshold == upperBonusThreshold &&
+                    PRESETS[i].upperBonusScore == upperBonusScore)
+                return i;
+
+        return -1;
+    }
+
+    // Fills values with the NUMBER_OF_VALUES values of the rules, in the order fromValues takes them
+    public void getValues(int[] values) {
+        values[0] = fullHouseScore;
+        values[1] = smallStraightScore;
+        values[2] = largeStraightScore;
+        values[3] = yahtzeeScore;
+        values[4] = yahtzeeBonusScore;
+        values[5] = maxNumberRolls;
+        values[6] = upperBonusThreshold;
+        values[7] = upperBonusScore;
+        values[8] = straightRule;
+        values[9] = kindScoring;
+        values[10] = yahtzeeBonusRule;
+    }
+
+    public static YahtzeeRules fromValues(int[] values) {
+        return new YahtzeeRules(values[0], values[1], values[2], values[3], values[4], values[5], values[6], values[7],
+                values[8], values[9], values[10]);
+    }
+
+    public int calculateUpperBonus(int upperScore) {
+        return (upperScore >= upperBonusThreshold) ? upperBonusScore : 0;
+    }
+
+    // True when only the scoring values differ from the default rules; saved strategy tables record nothing else
+    public boolean hasDefaultStructure() {
+        return upperBonusThreshold == DEFAULT.upperBonusThreshold && upperBonusScore == DEFAULT.upperBonusScore &&
+                straightRule == DEFAULT.straightRule && kindScoring == DEFAULT.kindScoring &&
+                yahtzeeBonusRule == DEFAULT.yahtzeeBonusRule;
+    }
+
+    // Score of every category for every distinct hand, indexed by hand * NUMBER_OF_CATEGORIES + category index
+    public int[] getScoreTable() {
+        return getTables().scoreTable;
+    }
+
+    // Scores of a hand played as a Joker: the score table with Full House and the straights at full value for a
+    // YAHTZEE. The same table as getScoreTable unless the rules have the forced Joker.
+    public int[] getJokerScoreTable() {
+        return getTables().jokerScoreTable;
+    }
+
+    // True when the hand is a YAHTZEE that must be played as a Joker, the YAHTZEE category being filled
+    public boolean isJoker(int hand, int filledMask) {
+        return getTables().jokerMasks[hand] != 0 && (filledMask & (1 << Yahtzee.YAHTZEE_INDEX)) != 0;
+    }
+
+    // Categories (bit n = index n) hand may be scored in, given the filled categories and whether YAHTZEE holds the
+    // full YAHTZEE score. A Joker must take its upper category, else an open lower one, else any open one.
+    public int allowedCategories(int hand, int filledMask, boolean yahtzeeScored) {
+
+        ScoringTables tables = getTables();
+        int open = ~filledMask & FULL_CARD_MASK;
+        int jokerMask = tables.jokerMasks[hand];
+
+        if (jokerMask != 0 && (filledMask & (1 << Yahtzee.YAHTZEE_INDEX)) != 0) {
+            if ((open & jokerMask) != 0)
+                return jokerMask;
+
+            return ((open & LOWER_CATEGORIES_MASK) != 0) ? open & LOWER_CATEGORIES_MASK : open;
+        }
+
+        return open | tables.bonusMasks[(hand << 1) | (yahtzeeScored ? 1 : 0)];
+    }
+
+    private ScoringTables getTables() {
+
+        ScoringTables compiled = tables;
+
+        if (compiled == null) {
+            for (YahtzeeRules preset : PRESETS)
+                if (preset.scoresLike(this)) {
+                    compiled = preset.tables;
+                    break;
+                }
+
+            if (compiled == null)
+                compiled = new ScoringTables(this);
+
+            tables = compiled;
+        }
+
+        return compiled;
+    }
+
+    // Same tables: the YAHTZEE bonus value, upper bonus and number of rolls are not part of them
+    private boolean scoresLike(YahtzeeRules other) {
+        return fullHouseScore == other.fullHouseScore && smallStraightScore == other.smallStraightScore &&
+                largeStraightScore == other.largeStraightScore && yahtzeeScore == other.yahtzeeScore &&
+                straightRule == other.straightRule && kindScoring == other.kindScoring &&
+                yahtzeeBonusRule == other.yahtzeeBonusRule;
+    }
+
+    static int[] buildScoreTable(YahtzeeRules rules) {
+
+        int[] table = new int[DiceHands.NUMBER_OF_HANDS * Yahtzee.NUMBER_OF_CATEGORIES];
+        int[] count = new int[Yahtzee.MAX_NUMBER_ON_DIE + 2];
+        boolean matchingDice = rules.kindScoring == KIND_SCORING_MATCHING_DICE;
+
+        for (int hand = 0; hand < DiceHands.NUMBER_OF_HANDS; hand++) {
+            int handOffset = hand * Yahtzee.NUMBER_OF_CATEGORIES;
+            int sum = 0;
+            int maxCount = 0;
+            int maxCountNumber = 0;
+            int distinct = 0;
+            int longestRun = 0;
+            int run = 0;
+
+            Arrays.fill(count, 0);
+
+            for (int die : DiceHands.HAND_DICE[hand]) {
+                count[die]++;
+                sum += die;
+            }
+
+            for (int i = 1; i <= Yahtzee.MAX_NUMBER_ON_DIE; i++) {
+                table[handOffset + i - 1] = count[i] * i;
+
+                if (count[i] >= maxCount) {
+                    maxCount = count[i];
+                    maxCountNumber = i;
+                }
+
+                if (count[i] > 0) {
+                    distinct++;
+                    longestRun = Math.max(longestRun, ++run);
+                }
+                else
+                    run = 0;
+            }
+
+            // Length of the run of consecutive numbers ending at the highest die
+            int highest = DiceHands.HAND_DICE[hand][Yahtzee.NUMBER_OF_DICE - 1];
+            int highestRun = 0;
+
+            while (highest - highestRun >= 1 && count[highest - highestRun] > 0)
+                highestRun++;
+
+            boolean smallStraight;
+            boolean largeStraight;
+
+            switch (rules.straightRule) {
+                case STRAIGHT_ANY_RUN:
+                    smallStraight = longestRun >= 4;
+                    largeStraight = longestRun >= 5;
+                    break;
+                case STRAIGHT_FIXED:
+                    smallStraight = highestRun == 5 && highest == 5;
+                    largeStraight = highestRun == 5 && highest == 6;
+                    break;
+                default:
+                    smallStraight = highestRun >= 4;
+                    largeStraight = highestRun >= 5;
+            }
+
+            boolean fullHouse = distinct == 2 && maxCount == Yahtzee.FULL_HOUSE_NUMBER_IN_GROUP_2;
+
+            table[handOffset + Yahtzee.THREE_KIND_INDEX] = (maxCount < 3) ? 0 : matchingDice ? 3 * maxCountNumber : sum;
+            table[handOffset + Yahtzee.FOUR_KIND_INDEX] = (maxCount < 4) ? 0 : matchingDice ? 4 * maxCountNumber : sum;
+            table[handOffset + Yahtzee.FULL_HOUSE_INDEX] = !fullHouse ? 0 : matchingDice ? sum : rules.fullHouseScore;
+            table[handOffset + Yahtzee.SMALL_STRAIGHT_INDEX] = smallStraight ? rules.smallStraightScore : 0;
+            table[handOffset + Yahtzee.LARGE_STRAIGHT_INDEX] = largeStraight ? rules.largeStraightScore : 0;
+            table[handOffset + Yahtzee.YAHTZEE_INDEX] =
+                    (maxCount == Yahtzee.NUMBER_OF_DICE) ? rules.yahtzeeScore : 0;
+            table[handOffset + Yahtzee.CHANCE_INDEX] = sum;
+            table[handOffset + Yahtzee.YAHTZEE_BONUS_INDEX] = table[handOffset + Yahtzee.YAHTZEE_INDEX];
+        }
+
+        return table;
+    }
+
+    // Everything a turn looks up, compiled once per ruleset
+    private static final class ScoringTables {
+
+        private final int[] scoreTable;
+        private final int[] jokerScoreTable;
+
+        // Upper category of a YAHTZEE hand played as a Joker (0 for other hands or without the forced Joker)
+        private final int[] jokerMasks = new int[DiceHands.NUMBER_OF_HANDS];
+
+        // YAHTZEE BONUS when it may be chosen, indexed by hand * 2 + (YAHTZEE holds the full score ? 1 : 0)
+        private final int[] bonusMasks = new int[DiceHands.NUMBER_OF_HANDS * 2];
+
+        ScoringTables(YahtzeeRules rules) {
+
+            int[] table = buildScoreTable(rules);
+            boolean forcedJoker = rules.yahtzeeBonusRule == YAHTZEE_BONUS_FORCED_JOKER;
+
+            scoreTable = table;
+            jokerScoreTable = forcedJoker ? table.clone() : table;
+
+            for (int hand = 0; hand < DiceHands.NUMBER_OF_HANDS; hand++) {
+                int handOffset = hand * Yahtzee.NUMBER_OF_CATEGORIES;
+                int[] dice = DiceHands.HAND_DICE[hand];
+                boolean yahtzee = dice[0] == dice[Yahtzee.NUMBER_OF_DICE - 1];
+
+                if (forcedJoker && yahtzee) {
+                    jokerMasks[hand] = 1 << (dice[0] - 1);
+                    jokerScoreTable[handOffset + Yahtzee.FULL_HOUSE_INDEX] = rules.fullHouseScore;
+                    jokerScoreTable[handOffset + Yahtzee.SMALL_STRAIGHT_INDEX] = rules.smallStraightScore;
+                    jokerScoreTable[handOffset + Yahtzee.LARGE_STRAIGHT_INDEX] = rules.largeStraightScore;
+                }
+
+                // The bonus category is only closed once YAHTZEE holds the full score and the hand is not one
+                if (rules.yahtzeeBonusRule == YAHTZEE_BONUS_CATEGORY) {
+                    bonusMasks[hand << 1] = YAHTZEE_BONUS_MASK;
+
+                    if (table[handOffset + Yahtzee.YAHTZEE_INDEX] == rules.yahtzeeScore)
+                        bonusMasks[(hand << 1) | 1] = YAHTZEE_BONUS_MASK;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// The batch scorer against the calculate methods under every straight rule, of-a-kind scoring and bonus rule
+class BatchScorerTest {
+
+    @Test
+    void everyRuleCombinationMatchesCalculateMethods() {
+
+        for (int straightRule = YahtzeeRules.STRAIGHT_RUN_TO_HIGHEST; straightRule <= YahtzeeRules.STRAIGHT_FIXED;
+             straightRule++)
+            for (int kindScoring = YahtzeeRules.KIND_SCORING_ALL_DICE;
+                 kindScoring <= YahtzeeRules.KIND_SCORING_MATCHING_DICE; kindScoring++)
+                for (int bonusRule = YahtzeeRules.YAHTZEE_BONUS_CATEGORY; bonusRule <= YahtzeeRules.YAHTZEE_BONUS_NONE;
+                     bonusRule++) {
+                    Yahtzee game = new Yahtzee(151L);
+
+                    game.setRules(YahtzeeRules.DEFAULT.withStraightRule(straightRule).withKindScoring(kindScoring)
+                            .withYahtzeeBonusRule(bonusRule));
+                    assertTrue(BatchScorer.verify(game),
+                            "straight " + straightRule + ", kind " + kindScoring + ", bonus " + bonusRule);
+                }
+    }
+
+    @Test
+    void changedScoresMatchCalculateMethods() {
+
+        Yahtzee game = new Yahtzee(151L);
+
+        game.setFullHouseScore(40);
+        game.setSmallStraightScore(35);
+        game.setLargeStraightScore(45);
+        game.setYahtzeeScore(75);
+
+        assertTrue(BatchScorer.verify(game));
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+// A worker that fails fails the whole run rather than leaving a short result
+class BatchSimulatorTest {
+
+    // Plays greedy, except that it picks an invalid category in the second game of its worker
+    private static class FailingPolicy implements DecisionPolicy {
+
+        private final GreedyPolicy greedy = new GreedyPolicy();
+        private int games;
+
+        @Override
+        public int chooseHoldMask(Yahtzee game) {
+            return greedy.chooseHoldMask(game);
+        }
+
+        @Override
+        public int chooseCategory(Yahtzee game) {
+
+            if (game.getTurnCount() == 1 && ++games == 2)
+                return Yahtzee.NUMBER_OF_CATEGORIES + 1;
+
+            return greedy.chooseCategory(game);
+        }
+
+    }
+
+    @Test
+    void workerFailureIsRethrown() {
+
+        BatchSimulator simulator = new BatchSimulator(FailingPolicy::new, 4);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> simulator.run(100, 42));
+
+        assertEquals(3, failure.getSuppressed().length);
+    }
+
+    @Test
+    void runWithoutFailuresCountsEveryGame() throws InterruptedException {
+        assertEquals(100, new BatchSimulator(GreedyPolicy::new, 4).run(100, 42).getGames());
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A checkpointed session resumes only with its own token, after a restart too
+class CheckpointStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void resumingTakesTheSessionToken() throws IOException {
+
+        Path path = directory.resolve("checkpoints");
+        Yahtzee game = new Yahtzee(151L);
+        long token;
+
+        try (CheckpointStore store = new CheckpointStore(path, 4, 42)) {
+            int slot = store.create(game, 3);
+
+            token = store.getToken(slot);
+            store.suspend(slot);
+
+            assertEquals(-1, store.resume(3, token ^ 1, game));
+            assertEquals(1, store.getResumableSessions());
+        }
+
+        try (CheckpointStore store = new CheckpointStore(path, 4, 42)) {
+            assertEquals(-1, store.resume(3, token + 1, game));
+            assertEquals(-1, store.resume(2, token, game));
+            assertTrue(store.resume(3, token, game) >= 0);
+            assertEquals(0, store.getResumableSessions());
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+// Reroll entries: dice 1-5 at most once each, with spaces between them and nothing else; resume entries: numbers
+class CommandReaderTest {
+
+    private static CommandReader reader(String line) {
+
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        CommandReader input = new CommandReader(new ByteArrayInputStream(bytes));
+
+        input.nextLine();
+        return input;
+    }
+
+    private static int parseReroll(String line) {
+        return reader(line).parseReroll();
+    }
+
+    @Test
+    void listedDiceAreRerolled() {
+        assertEquals(Yahtzee.ALL_DICE_HELD & ~0b01101, parseReroll("134"));
+        assertEquals(Yahtzee.ALL_DICE_HELD & ~0b10010, parseReroll(" 2 5 "));
+        assertEquals(CommandReader.COMMAND_END_TURN, parseReroll("0"));
+    }
+
+    @Test
+    void otherCharactersAreInvalid() {
+        assertEquals(CommandReader.COMMAND_INVALID, parseReroll("\u3000"));
+        assertEquals(CommandReader.COMMAND_INVALID, parseReroll("1\u30002"));
+        assertEquals(CommandReader.COMMAND_INVALID, parseReroll("1\t2"));
+        assertEquals(CommandReader.COMMAND_INVALID, parseReroll("16"));
+        assertEquals(CommandReader.COMMAND_INVALID, parseReroll("11"));
+    }
+
+    @Test
+    void resumeNumbersAreLongs() {
+
+        long[] numbers = new long[2];
+
+        assertEquals(2, reader(" 4294967296  9223372036854775807 ").parseNumbers(numbers));
+        assertEquals(4294967296L, numbers[0]);
+        assertEquals(Long.MAX_VALUE, numbers[1]);
+        assertEquals(0, reader("").parseNumbers(numbers));
+        assertEquals(CommandReader.COMMAND_INVALID, reader("9223372036854775808 1").parseNumbers(numbers));
+        assertEquals(CommandReader.COMMAND_INVALID, reader("1 2 3").parseNumbers(numbers));
+        assertEquals(CommandReader.COMMAND_INVALID, reader("1 -2").parseNumbers(numbers));
+        assertEquals(CommandReader.COMMAND_INVALID, reader("1\u00A02").parseNumbers(numbers));
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// Slots of a new arena are free, and a game that cannot roll is left as it was
+class GameArenaTest {
+
+    @Test
+    void newArenaSlotsAreFree() {
+
+        GameArena arena = new GameArena(3);
+
+        for (int slot = 0; slot < arena.getCapacity(); slot++)
+            assertTrue(arena.isFree(slot));
+    }
+
+    @Test
+    void finishedGameRejectsAnotherTurn() {
+
+        GameArena arena = new GameArena(1);
+        GreedyPolicy policy = new GreedyPolicy();
+
+        arena.newGame(0, 42, 7);
+
+        while (arena.playTurn(0, policy) != Yahtzee.EVENT_GAME_OVER)
+            ;
+
+        long scores = arena.getPackedScores(0);
+        long state = arena.getPackedState(0);
+
+        assertEquals(Yahtzee.EVENT_REJECTED, arena.playTurn(0, policy));
+        assertEquals(scores, arena.getPackedScores(0));
+        assertEquals(state, arena.getPackedState(0));
+    }
+
+}
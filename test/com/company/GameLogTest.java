@@ -0,0 +1,56 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// The log reopens after a crash that left its newest segment without a header
+class GameLogTest {
+
+    @TempDir
+    Path directory;
+
+    private void appendGames(int games) throws IOException {
+
+        try (GameLog log = new GameLog(directory, 1 << 16, 1)) {
+            for (int i = 0; i < games; i++) {
+                Yahtzee game = new Yahtzee(i);
+
+                BatchSimulator.playGame(game, new GreedyPolicy());
+                log.append(game);
+            }
+        }
+    }
+
+    @Test
+    void headerlessNewestSegmentIsCreatedAgain() throws IOException {
+
+        appendGames(3);
+        Files.write(GameLog.segmentPath(directory, 99), new byte[1 << 16]);
+
+        assertEquals(3, GameLog.read(directory, (buffer, offset) -> { }));
+
+        try (GameLog log = new GameLog(directory, 1 << 16, 1)) {
+            assertEquals(99, log.getSegmentIndex());
+        }
+
+        appendGames(2);
+        assertEquals(5, GameLog.read(directory, (buffer, offset) -> { }));
+    }
+
+    @Test
+    void emptyNewestSegmentIsCreatedAgain() throws IOException {
+
+        appendGames(1);
+        Files.createFile(GameLog.segmentPath(directory, 1));
+        appendGames(1);
+
+        assertEquals(2, GameLog.read(directory, (buffer, offset) -> { }));
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+// Recorded games replay with every score checked, under whatever rules each was played with
+class GameReplayerTest {
+
+    private static byte[] record(int games, YahtzeeRules... rules) {
+
+        GameRecorder recorder = new GameRecorder();
+        GreedyPolicy policy = new GreedyPolicy();
+        Yahtzee game = new Yahtzee(151L);
+
+        game.setRecorder(recorder);
+
+        for (int i = 0; i < games; i++) {
+            game.reset();
+            game.setRules(rules[i % rules.length]);
+            game.setSeed(SplitMixDiceSource.streamSeed(42, i));
+            BatchSimulator.playGame(game, policy);
+        }
+
+        return recorder.toByteArray();
+    }
+
+    @Test
+    void presetGamesReplay() {
+
+        for (int i = 0; i < 3; i++) {
+            YahtzeeRules rules = YahtzeeRules.preset(i);
+
+            assertEquals(i, rules.getPresetNumber());
+            assertEquals(500, new GameReplayer().replayAll(record(500, rules)));
+        }
+    }
+
+    @Test
+    void customAndMixedRulesGamesReplay() {
+
+        YahtzeeRules custom = YahtzeeRules.DEFAULT.withFullHouseScore(40).withYahtzeeBonusScore(150)
+                .withUpperBonusThreshold(50).withMaxNumberRolls(4);
+
+        assertEquals(-1, custom.getPresetNumber());
+        assertEquals(500, new GameReplayer().replayAll(record(500, custom)));
+        assertEquals(500, new GameReplayer().replayAll(record(500, YahtzeeRules.YATZY, custom,
+                YahtzeeRules.FORCED_JOKER, YahtzeeRules.DEFAULT)));
+    }
+
+}
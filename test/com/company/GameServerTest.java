@@ -0,0 +1,37 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+// A scheduled flush that fails once keeps running on its schedule
+class GameServerTest {
+
+    @Test
+    void failedScheduledTaskRunsAgain() throws InterruptedException {
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch runs = new CountDownLatch(3);
+
+        try {
+            scheduler.scheduleAtFixedRate(GameServer.reportingFailures("Test flush", () -> {
+                runs.countDown();
+
+                if (runs.getCount() == 2)
+                    throw new UncheckedIOException(new IOException("Disk full"));
+            }), 0, 1, TimeUnit.MILLISECONDS);
+
+            assertTrue(runs.await(10, TimeUnit.SECONDS));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Period slots only move forward in time
+class LeaderboardTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void olderPeriodDoesNotTakeOverANewerSlot() throws IOException {
+
+        try (Leaderboard leaderboard = new Leaderboard(directory.resolve("leaderboard"), 10, 4, 1000)) {
+            leaderboard.record(200, 1, 5 * 1000);
+            leaderboard.record(150, 2, 1 * 1000);
+
+            assertEquals(1, leaderboard.getGames(5));
+            assertEquals(0, leaderboard.getGames(1));
+            assertEquals(2, leaderboard.getGames());
+
+            leaderboard.record(100, 3, 9 * 1000);
+
+            assertEquals(0, leaderboard.getGames(5));
+            assertEquals(1, leaderboard.getGames(9));
+            assertEquals(3, leaderboard.getGames());
+        }
+    }
+
+}
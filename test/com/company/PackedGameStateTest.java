@@ -0,0 +1,115 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+// Scores round trip through the packed words and keep their value when the rules change; dice stay in bounds;
+// endless games and out-of-range rule values never fail
+class PackedGameStateTest {
+
+    @Test
+    void everyCategoryKeepsItsScore() {
+
+        int[] highest = {5, 10, 15, 20, 25, 30, 30, 30, 127, 127, 127, 127, 30, 1023};
+        Yahtzee game = new Yahtzee(151L);
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES; i++)
+            game.setScore(i, highest[i]);
+
+        game.setTurnCount(PackedGameState.MAX_TURN_COUNT);
+
+        for (int i = 0; i < Yahtzee.NUMBER_OF_CATEGORIES; i++)
+            assertEquals(highest[i], game.getScore(i));
+
+        assertEquals(PackedGameState.MAX_TURN_COUNT, game.getTurnCount());
+        assertEquals(false, game.isTurnOver());
+    }
+
+    @Test
+    void changedRulesLeaveScoredCategoriesAlone() {
+
+        Yahtzee game = new Yahtzee(151L);
+
+        game.setScore(Yahtzee.FULL_HOUSE_INDEX, 25);
+        game.setScore(Yahtzee.YAHTZEE_INDEX, 50);
+
+        int grandTotal = game.calculateGrandTotal();
+
+        game.setFullHouseScore(40);
+        game.setYahtzeeScore(75);
+
+        assertEquals(25, game.getScore(Yahtzee.FULL_HOUSE_INDEX));
+        assertEquals(50, game.getScore(Yahtzee.YAHTZEE_INDEX));
+        assertEquals(grandTotal, game.calculateGrandTotal());
+    }
+
+    @Test
+    void turnAndBonusCountsStopAtTheirHighest() {
+
+        Yahtzee game = new Yahtzee(151L);
+
+        game.setTurnCount(PackedGameState.MAX_TURN_COUNT + 100);
+        game.setScore(Yahtzee.YAHTZEE_BONUS_INDEX, PackedGameState.MAX_YAHTZEE_BONUS_COUNT + 1);
+
+        assertEquals(PackedGameState.MAX_TURN_COUNT, game.getTurnCount());
+        assertEquals(PackedGameState.MAX_YAHTZEE_BONUS_COUNT, game.getScore(Yahtzee.YAHTZEE_BONUS_INDEX));
+    }
+
+    @Test
+    void bonusTurnsPlayOnPastTheHighestTurnCount() {
+
+        Yahtzee game = new Yahtzee(151L);
+
+        game.setScore(Yahtzee.YAHTZEE_INDEX, 0);
+
+        for (int turn = 0; turn < PackedGameState.MAX_TURN_COUNT + 100; turn++) {
+            game.roll();
+            game.hold(Yahtzee.ALL_DICE_HELD);
+            assertEquals(Yahtzee.EVENT_SCORED, game.score(Yahtzee.YAHTZEE_BONUS_INDEX + 1));
+        }
+
+        assertEquals(PackedGameState.MAX_TURN_COUNT, game.getTurnCount());
+    }
+
+    @Test
+    void fixedScoresAboveTheHighestAreClamped() {
+
+        Yahtzee game = new Yahtzee(151L);
+
+        game.setFullHouseScore(1000);
+        game.setSmallStraightScore(128);
+        game.setLargeStraightScore(Integer.MAX_VALUE);
+        game.setYahtzeeScore(-5);
+
+        assertEquals(PackedGameState.MAX_FIXED_SCORE, game.getFullHouseScore());
+        assertEquals(PackedGameState.MAX_FIXED_SCORE, game.getSmallStraightScore());
+        assertEquals(PackedGameState.MAX_FIXED_SCORE, game.getLargeStraightScore());
+        assertEquals(0, game.getYahtzeeScore());
+    }
+
+    @Test
+    void negativeUpperBonusThresholdIsClamped() {
+
+        Yahtzee game = new Yahtzee(151L);
+
+        game.setUpperBonusThreshold(-10);
+
+        assertEquals(0, game.getUpperBonusThreshold());
+    }
+
+    @Test
+    void dieNumbersOutsideTheDiceAreRejected() {
+
+        Yahtzee game = new Yahtzee(151L);
+
+        game.setTurnCount(5);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> game.setDice(Yahtzee.NUMBER_OF_DICE, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> game.setDice(-40, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> game.getDice(9));
+        assertEquals(5, game.getTurnCount());
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.company;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// The hand-by-category table against the calculate methods over all 7776 ordered rolls
+class ScoreTableTest {
+
+    @Test
+    void defaultTableMatchesCalculateMethods() {
+        assertTrue(new Yahtzee(151L).verifyScoreTable());
+    }
+
+    @Test
+    void changedScoresTableMatchesCalculateMethods() {
+
+        Yahtzee game = new Yahtzee(151L);
+
+        game.setFullHouseScore(40);
+        game.setSmallStraightScore(35);
+        game.setLargeStraightScore(45);
+        game.setYahtzeeScore(75);
+
+        assertTrue(game.verifyScoreTable());
+    }
+
+    @Test
+    void presetTablesMatchCalculateMethods() {
+
+        for (YahtzeeRules rules : new YahtzeeRules[] {YahtzeeRules.DEFAULT, YahtzeeRules.FORCED_JOKER,
+                YahtzeeRules.YATZY}) {
+            Yahtzee game = new Yahtzee(151L);
+
+            game.setRules(rules);
+            assertTrue(game.verifyScoreTable());
+        }
+    }
+
+    @Test
+    void unrolledDiceScoreZero() {
+
+        for (int scoreOption = 1; scoreOption <= Yahtzee.NUMBER_OF_CATEGORIES; scoreOption++) {
+            Yahtzee game = new Yahtzee(151L);
+
+            game.calculateTurnScore(scoreOption);
+            assertEquals(0, game.getScore(scoreOption - 1));
+        }
+    }
+
+}